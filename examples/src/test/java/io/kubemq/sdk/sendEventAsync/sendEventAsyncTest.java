@@ -0,0 +1,110 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 KubeMQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.kubemq.sdk.sendEventAsync;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.grpc.Server;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.kubemq.sdk.event.Result;
+import io.kubemq.sdk.event.lowlevel.Event;
+import io.kubemq.sdk.event.lowlevel.Sender;
+import io.kubemq.sdk.grpc.Kubemq;
+import io.kubemq.sdk.grpc.kubemqGrpc;
+
+public class sendEventAsyncTest {
+
+    private Server server;
+    private Sender sender;
+
+    @Before
+    public void StartServer() throws Exception {
+        server = NettyServerBuilder.forPort(0).addService(new kubemqGrpc.kubemqImplBase() {
+            @Override
+            public StreamObserver<Kubemq.Event> sendEventsStream(StreamObserver<Kubemq.Result> responseObserver) {
+                return new StreamObserver<Kubemq.Event>() {
+                    @Override
+                    public void onNext(Kubemq.Event event) {
+                        // Like the server, report a result only for stored events
+                        if (event.getStore()) {
+                            responseObserver.onNext(Kubemq.Result.newBuilder()
+                                    .setEventID(event.getEventID())
+                                    .setSent(true)
+                                    .build());
+                        }
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        responseObserver.onCompleted();
+                    }
+                };
+            }
+        }).build().start();
+        sender = new Sender("localhost:" + server.getPort());
+    }
+
+    @After
+    public void StopServer() throws Exception {
+        sender.shutdown();
+        server.shutdownNow().awaitTermination();
+    }
+
+    @Test
+    public void TestNonStoreEventCompletesWhenWritten() throws Exception {
+        Result result = sender.SendEventAsync(event("e1", false), 1, TimeUnit.SECONDS).get(500, TimeUnit.MILLISECONDS);
+
+        assertEquals("e1", result.getEventId());
+        assertTrue(result.isSent());
+    }
+
+    @Test
+    public void TestStoreEventCompletesWithServerResult() throws Exception {
+        Result result = sender.SendEventAsync(event("e2", true), 1, TimeUnit.SECONDS).get(2, TimeUnit.SECONDS);
+
+        assertEquals("e2", result.getEventId());
+        assertTrue(result.isSent());
+    }
+
+    private static Event event(String eventId, boolean store) {
+        Event event = new Event();
+        event.setEventId(eventId);
+        event.setChannel("test-channel");
+        event.setClientID("test-client");
+        event.setStore(store);
+        return event;
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 KubeMQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.kubemq.sdk.subscriptionPrefetch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.kubemq.sdk.event.EventReceive;
+import io.kubemq.sdk.event.Subscriber;
+import io.kubemq.sdk.event.Subscription;
+import io.kubemq.sdk.event.SubscriptionOptions;
+import io.kubemq.sdk.grpc.Kubemq;
+import io.kubemq.sdk.grpc.kubemqGrpc;
+import io.kubemq.sdk.subscription.EventsStoreType;
+import io.kubemq.sdk.subscription.ReconnectPolicy;
+import io.kubemq.sdk.subscription.SubscribeRequest;
+import io.kubemq.sdk.subscription.SubscribeType;
+
+public class subscriptionPrefetchTest {
+
+    private static final int PREFETCH = 4;
+
+    private final AtomicInteger streams = new AtomicInteger();
+    private Server server;
+    private Subscriber subscriber;
+
+    @Before
+    public void StartServer() throws Exception {
+        server = NettyServerBuilder.forPort(0).addService(new kubemqGrpc.kubemqImplBase() {
+            @Override
+            public void ping(Kubemq.Empty request, StreamObserver<Kubemq.PingResult> responseObserver) {
+                responseObserver.onNext(Kubemq.PingResult.newBuilder().setHost("test").build());
+                responseObserver.onCompleted();
+            }
+
+            @Override
+            public void subscribeToEvents(Kubemq.Subscribe request, StreamObserver<Kubemq.EventReceive> responseObserver) {
+                if (streams.incrementAndGet() == 1) {
+                    // Fill the window, then fail the stream while the events are still buffered
+                    send(responseObserver, PREFETCH);
+                    responseObserver.onError(Status.UNAVAILABLE.withDescription("test").asRuntimeException());
+                } else {
+                    // The client's flow control decides how many of these reach the subscription
+                    send(responseObserver, 100);
+                }
+            }
+        }).build().start();
+        subscriber = new Subscriber("localhost:" + server.getPort());
+    }
+
+    @After
+    public void StopServer() throws Exception {
+        subscriber.shutdown();
+        server.shutdownNow().awaitTermination();
+    }
+
+    @Test
+    public void TestWindowRestoredAfterReconnectWithBufferedEvents() throws Exception {
+        Semaphore handled = new Semaphore(0);
+        SubscriptionOptions options = new SubscriptionOptions()
+                .setPrefetch(PREFETCH)
+                .setReconnectPolicy(new ReconnectPolicy(10, 10, 1, 0, 0));
+        Subscription subscription = subscriber.SubscribeToEvents(
+                new SubscribeRequest(SubscribeType.Events, "test-client", "test-channel", "", EventsStoreType.Undefined, 0),
+                new StreamObserver<EventReceive>() {
+                    @Override
+                    public void onNext(EventReceive value) {
+                        handled.acquireUninterruptibly();
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                    }
+                },
+                options);
+        try {
+            // One event in the handler, the rest of the first window and the event gRPC requests by itself buffered
+            assertTrue(await(() -> streams.get() == 2 && subscription.getBufferedEvents() == PREFETCH));
+
+            // Deliver the events held from the first stream, the handler then blocks on the next one
+            handled.release(PREFETCH + 1);
+            assertTrue(await(() -> subscription.getBufferedEvents() == PREFETCH - 1));
+            Thread.sleep(200);
+            assertEquals(PREFETCH - 1, subscription.getBufferedEvents());
+        } finally {
+            subscription.close();
+            handled.release(1000);
+        }
+    }
+
+    private static void send(StreamObserver<Kubemq.EventReceive> responseObserver, int count) {
+        for (int i = 1; i <= count; i++) {
+            responseObserver.onNext(Kubemq.EventReceive.newBuilder()
+                    .setEventID("e" + i)
+                    .setChannel("test-channel")
+                    .build());
+        }
+    }
+
+    private static boolean await(BooleanSupplier condition) throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            Thread.sleep(10);
+        }
+        return false;
+    }
+}
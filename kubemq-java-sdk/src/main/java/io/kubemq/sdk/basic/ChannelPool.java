@@ -0,0 +1,165 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 KubeMQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.kubemq.sdk.basic;
+
+import io.grpc.CallOptions;
+import io.grpc.ClientCall;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Channel spreading calls over several connections to the same KubeMQ server.
+ * Every new call is started on the sub-channel having the fewest active calls,
+ * so large batches and long lived streams do not queue behind each other on a single HTTP/2 connection.
+ */
+final class ChannelPool extends ManagedChannel {
+
+    private final ManagedChannel[] channels;
+    private final AtomicInteger[] activeCalls;
+    private final AtomicInteger next = new AtomicInteger();
+
+    ChannelPool(ManagedChannel[] channels) {
+        this.channels = channels;
+        this.activeCalls = new AtomicInteger[channels.length];
+        for (int i = 0; i < channels.length; i++) {
+            activeCalls[i] = new AtomicInteger();
+        }
+    }
+
+    @Override
+    public <ReqT, RespT> ClientCall<ReqT, RespT> newCall(MethodDescriptor<ReqT, RespT> methodDescriptor, CallOptions callOptions) {
+        int index = leastLoaded();
+        return new CountingCall<>(channels[index].newCall(methodDescriptor, callOptions), activeCalls[index]);
+    }
+
+    @Override
+    public String authority() {
+        return channels[0].authority();
+    }
+
+    @Override
+    public ManagedChannel shutdown() {
+        for (ManagedChannel channel : channels) {
+            channel.shutdown();
+        }
+        return this;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        for (ManagedChannel channel : channels) {
+            if (!channel.isShutdown()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        for (ManagedChannel channel : channels) {
+            if (!channel.isTerminated()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public ManagedChannel shutdownNow() {
+        for (ManagedChannel channel : channels) {
+            channel.shutdownNow();
+        }
+        return this;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (ManagedChannel channel : channels) {
+            if (!channel.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Find the sub-channel with the fewest active calls.
+     * The scan starts at a rotating position so ties are spread evenly over the pool.
+     *
+     * @return index of the selected sub-channel
+     */
+    private int leastLoaded() {
+        int start = Math.floorMod(next.getAndIncrement(), channels.length);
+        int best = start;
+        int bestLoad = activeCalls[start].get();
+        for (int i = 1; i < channels.length && bestLoad > 0; i++) {
+            int index = (start + i) % channels.length;
+            int load = activeCalls[index].get();
+            if (load < bestLoad) {
+                best = index;
+                bestLoad = load;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Keeps the active calls counter of a sub-channel up to date for the lifetime of a call.
+     */
+    private static final class CountingCall<ReqT, RespT> extends ForwardingClientCall.SimpleForwardingClientCall<ReqT, RespT> {
+
+        private final AtomicInteger activeCalls;
+
+        private CountingCall(ClientCall<ReqT, RespT> delegate, AtomicInteger activeCalls) {
+            super(delegate);
+            this.activeCalls = activeCalls;
+        }
+
+        @Override
+        public void start(Listener<RespT> responseListener, Metadata headers) {
+            activeCalls.incrementAndGet();
+            try {
+                super.start(new ForwardingClientCallListener.SimpleForwardingClientCallListener<RespT>(responseListener) {
+                    @Override
+                    public void onClose(Status status, Metadata trailers) {
+                        activeCalls.decrementAndGet();
+                        super.onClose(status, trailers);
+                    }
+                }, headers);
+            } catch (RuntimeException e) {
+                activeCalls.decrementAndGet();
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 KubeMQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.kubemq.sdk.basic;
+
+import io.grpc.ManagedChannel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.net.ssl.SSLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Process wide registry of the channels opened to KubeMQ servers.
+ * Clients connecting with the same address, certificate file, registration key, pool size
+ * and client options share a single channel, which is closed once the last client releases it.
+ */
+final class ChannelRegistry {
+
+    private static Logger logger = LoggerFactory.getLogger(ChannelRegistry.class);
+
+    private static final Map<Key, Entry> channels = new HashMap<>();
+
+    private ChannelRegistry() {
+    }
+
+    /**
+     * Get the channel registered under {@code key}, constructing it on first use.
+     * Every call must be balanced by a call to {@link #release(Entry)}.
+     *
+     * @param key     Connection parameters identifying the channel.
+     * @param factory Used to construct the channel when it is not registered yet.
+     * @return Registry entry holding the shared channel.
+     * @throws SSLException Indicates some kind of error detected by an SSL subsystem.
+     */
+    static synchronized Entry acquire(Key key, ChannelFactory factory) throws SSLException {
+        Entry entry = channels.get(key);
+        if (entry == null) {
+            entry = new Entry(key, factory.create(key));
+            channels.put(key, entry);
+        }
+        entry.references++;
+        return entry;
+    }
+
+    /**
+     * Release a reference taken by {@link #acquire(Key, ChannelFactory)},
+     * shutting the channel down when no client uses it anymore.
+     *
+     * @param entry Registry entry to release.
+     * @throws InterruptedException if interrupted while waiting for the channel termination.
+     */
+    static void release(Entry entry) throws InterruptedException {
+        synchronized (ChannelRegistry.class) {
+            if (--entry.references > 0) {
+                return;
+            }
+            channels.remove(entry.key);
+        }
+        logger.debug("closing channel to KubeMQ on {}", entry.key.getAddress());
+        entry.channel.shutdown().awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    interface ChannelFactory {
+        ManagedChannel create(Key key) throws SSLException;
+    }
+
+    static final class Entry {
+
+        private final Key key;
+        private final ManagedChannel channel;
+        private int references;
+
+        private Entry(Key key, ManagedChannel channel) {
+            this.key = key;
+            this.channel = channel;
+        }
+
+        ManagedChannel getChannel() {
+            return channel;
+        }
+    }
+
+    static final class Key {
+
+        private final String address;
+        private final String certificateFile;
+        private final String registrationKey;
+        private final int poolSize;
+        private final ClientOptions options;
+
+        Key(String address, String certificateFile, String registrationKey, int poolSize, ClientOptions options) {
+            this.address = address;
+            this.certificateFile = certificateFile;
+            this.registrationKey = registrationKey;
+            this.poolSize = poolSize;
+            this.options = options;
+        }
+
+        String getAddress() {
+            return address;
+        }
+
+        String getCertificateFile() {
+            return certificateFile;
+        }
+
+        int getPoolSize() {
+            return poolSize;
+        }
+
+        ClientOptions getOptions() {
+            return options;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return Objects.equals(address, other.address)
+                    && Objects.equals(certificateFile, other.certificateFile)
+                    && Objects.equals(registrationKey, other.registrationKey)
+                    && poolSize == other.poolSize
+                    && Objects.equals(options, other.options);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(address, certificateFile, registrationKey, poolSize, options);
+        }
+    }
+}
@@ -0,0 +1,438 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 KubeMQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.kubemq.sdk.basic;
+
+import io.grpc.netty.shaded.io.netty.channel.EventLoopGroup;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Connection and transport settings used by a client when connecting to the KubeMQ server.
+ * Settings left unset fall back to the environment variables and Java properties
+ * read by the ConfigurationLoader, then to the gRPC defaults.
+ * Clients constructed with equal options share the same connections.
+ */
+public final class ClientOptions {
+
+    /**
+     * Network transport used for the connections to the KubeMQ server.
+     */
+    public enum Transport {
+
+        /**
+         * Java NIO transport, available on every platform.
+         */
+        NIO,
+
+        /**
+         * Native Linux epoll transport of the shaded Netty,
+         * falls back to NIO when it is not available on the class path or platform.
+         */
+        EPOLL
+    }
+
+    private static final ClientOptions DEFAULT = newBuilder().build();
+
+    private final String serverAddress;
+    private final String registrationKey;
+    private final String certificateFile;
+    private final int channelPoolSize;
+    private final Transport transport;
+    private final EventLoopGroup eventLoopGroup;
+    private final int eventLoopThreads;
+    private final Executor executor;
+    private final boolean directExecutor;
+    private final int flowControlWindow;
+    private final int maxInboundMessageSize;
+    private final long keepAliveTimeMillis;
+    private final long keepAliveTimeoutMillis;
+    private final boolean keepAliveWithoutCalls;
+    private final long idleTimeoutMillis;
+
+    private ClientOptions(Builder builder) {
+        this.serverAddress = builder.serverAddress;
+        this.registrationKey = builder.registrationKey;
+        this.certificateFile = builder.certificateFile;
+        this.channelPoolSize = builder.channelPoolSize;
+        this.transport = builder.transport;
+        this.eventLoopGroup = builder.eventLoopGroup;
+        this.eventLoopThreads = builder.eventLoopThreads;
+        this.executor = builder.executor;
+        this.directExecutor = builder.directExecutor;
+        this.flowControlWindow = builder.flowControlWindow;
+        this.maxInboundMessageSize = builder.maxInboundMessageSize;
+        this.keepAliveTimeMillis = builder.keepAliveTimeMillis;
+        this.keepAliveTimeoutMillis = builder.keepAliveTimeoutMillis;
+        this.keepAliveWithoutCalls = builder.keepAliveWithoutCalls;
+        this.idleTimeoutMillis = builder.idleTimeoutMillis;
+    }
+
+    /**
+     * @return Options using the configuration and gRPC defaults for every setting.
+     */
+    public static ClientOptions getDefaultInstance() {
+        return DEFAULT;
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    public Builder toBuilder() {
+        return new Builder(this);
+    }
+
+    public String getServerAddress() {
+        return serverAddress;
+    }
+
+    public String getRegistrationKey() {
+        return registrationKey;
+    }
+
+    public String getCertificateFile() {
+        return certificateFile;
+    }
+
+    public int getChannelPoolSize() {
+        return channelPoolSize;
+    }
+
+    public Transport getTransport() {
+        return transport;
+    }
+
+    public EventLoopGroup getEventLoopGroup() {
+        return eventLoopGroup;
+    }
+
+    public int getEventLoopThreads() {
+        return eventLoopThreads;
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    public boolean isDirectExecutor() {
+        return directExecutor;
+    }
+
+    public int getFlowControlWindow() {
+        return flowControlWindow;
+    }
+
+    public int getMaxInboundMessageSize() {
+        return maxInboundMessageSize;
+    }
+
+    public long getKeepAliveTimeMillis() {
+        return keepAliveTimeMillis;
+    }
+
+    public long getKeepAliveTimeoutMillis() {
+        return keepAliveTimeoutMillis;
+    }
+
+    public boolean isKeepAliveWithoutCalls() {
+        return keepAliveWithoutCalls;
+    }
+
+    public long getIdleTimeoutMillis() {
+        return idleTimeoutMillis;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ClientOptions)) return false;
+        ClientOptions other = (ClientOptions) o;
+        return Objects.equals(serverAddress, other.serverAddress)
+                && Objects.equals(registrationKey, other.registrationKey)
+                && Objects.equals(certificateFile, other.certificateFile)
+                && channelPoolSize == other.channelPoolSize
+                && transport == other.transport
+                && eventLoopGroup == other.eventLoopGroup
+                && eventLoopThreads == other.eventLoopThreads
+                && executor == other.executor
+                && directExecutor == other.directExecutor
+                && flowControlWindow == other.flowControlWindow
+                && maxInboundMessageSize == other.maxInboundMessageSize
+                && keepAliveTimeMillis == other.keepAliveTimeMillis
+                && keepAliveTimeoutMillis == other.keepAliveTimeoutMillis
+                && keepAliveWithoutCalls == other.keepAliveWithoutCalls
+                && idleTimeoutMillis == other.idleTimeoutMillis;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(serverAddress, registrationKey, certificateFile, channelPoolSize,
+                transport, eventLoopGroup, eventLoopThreads, executor, directExecutor,
+                flowControlWindow, maxInboundMessageSize, keepAliveTimeMillis, keepAliveTimeoutMillis,
+                keepAliveWithoutCalls, idleTimeoutMillis);
+    }
+
+    public static final class Builder {
+
+        private String serverAddress;
+        private String registrationKey;
+        private String certificateFile;
+        private int channelPoolSize;
+        private Transport transport = Transport.NIO;
+        private EventLoopGroup eventLoopGroup;
+        private int eventLoopThreads;
+        private Executor executor;
+        private boolean directExecutor;
+        private int flowControlWindow;
+        private int maxInboundMessageSize;
+        private long keepAliveTimeMillis;
+        private long keepAliveTimeoutMillis;
+        private boolean keepAliveWithoutCalls;
+        private long idleTimeoutMillis;
+
+        private Builder() {
+        }
+
+        private Builder(ClientOptions options) {
+            this.serverAddress = options.serverAddress;
+            this.registrationKey = options.registrationKey;
+            this.certificateFile = options.certificateFile;
+            this.channelPoolSize = options.channelPoolSize;
+            this.transport = options.transport;
+            this.eventLoopGroup = options.eventLoopGroup;
+            this.eventLoopThreads = options.eventLoopThreads;
+            this.executor = options.executor;
+            this.directExecutor = options.directExecutor;
+            this.flowControlWindow = options.flowControlWindow;
+            this.maxInboundMessageSize = options.maxInboundMessageSize;
+            this.keepAliveTimeMillis = options.keepAliveTimeMillis;
+            this.keepAliveTimeoutMillis = options.keepAliveTimeoutMillis;
+            this.keepAliveWithoutCalls = options.keepAliveWithoutCalls;
+            this.idleTimeoutMillis = options.idleTimeoutMillis;
+        }
+
+        /**
+         * The address the of the KubeMQ including the GRPC Port ,Example: "LocalHost:50000".
+         * An address passed to the client constructor takes precedence.
+         *
+         * @param serverAddress KubeMQ server address, null to read it from the configuration.
+         * @return this Builder
+         */
+        public Builder setServerAddress(String serverAddress) {
+            this.serverAddress = serverAddress;
+            return this;
+        }
+
+        /**
+         * KubeMQ registration key sent with every call.
+         *
+         * @param registrationKey Registration key, null to read it from the configuration.
+         * @return this Builder
+         */
+        public Builder setRegistrationKey(String registrationKey) {
+            this.registrationKey = registrationKey;
+            return this;
+        }
+
+        /**
+         * Certificate file used to open a TLS connection.
+         *
+         * @param certificateFile Certificate file path, null to read it from the configuration.
+         * @return this Builder
+         */
+        public Builder setCertificateFile(String certificateFile) {
+            this.certificateFile = certificateFile;
+            return this;
+        }
+
+        /**
+         * Number of connections opened to the KubeMQ server.
+         *
+         * @param channelPoolSize Number of connections, 0 to read it from the configuration.
+         * @return this Builder
+         */
+        public Builder setChannelPoolSize(int channelPoolSize) {
+            if (channelPoolSize < 0) {
+                throw new IllegalArgumentException("Parameter channelPoolSize must not be negative");
+            }
+            this.channelPoolSize = channelPoolSize;
+            return this;
+        }
+
+        /**
+         * Network transport of the connections, default is NIO.
+         * When an event loop group is supplied it must match the selected transport.
+         *
+         * @param transport Network transport.
+         * @return this Builder
+         */
+        public Builder setTransport(Transport transport) {
+            this.transport = Objects.requireNonNull(transport, "transport");
+            return this;
+        }
+
+        /**
+         * Event loop group running the network I/O of the connections.
+         * The group is owned by the caller and is not shut down by the SDK.
+         *
+         * @param eventLoopGroup Event loop group, null to let the SDK select one.
+         * @return this Builder
+         */
+        public Builder setEventLoopGroup(EventLoopGroup eventLoopGroup) {
+            this.eventLoopGroup = eventLoopGroup;
+            return this;
+        }
+
+        /**
+         * Number of threads of the event loop group shared by all clients using the same transport,
+         * ignored when an event loop group is supplied. Default is 0, using the gRPC default group for NIO
+         * and Netty default size for epoll.
+         *
+         * @param eventLoopThreads Number of event loop threads.
+         * @return this Builder
+         */
+        public Builder setEventLoopThreads(int eventLoopThreads) {
+            if (eventLoopThreads < 0) {
+                throw new IllegalArgumentException("Parameter eventLoopThreads must not be negative");
+            }
+            this.eventLoopThreads = eventLoopThreads;
+            return this;
+        }
+
+        /**
+         * Executor running the gRPC callbacks, default is the gRPC cached thread pool.
+         *
+         * @param executor Callbacks executor.
+         * @return this Builder
+         */
+        public Builder setExecutor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Run the gRPC callbacks directly on the transport threads.
+         * Saves a thread hand-off per message, but the callbacks must never block.
+         *
+         * @param directExecutor true to run callbacks on the transport threads.
+         * @return this Builder
+         */
+        public Builder setDirectExecutor(boolean directExecutor) {
+            this.directExecutor = directExecutor;
+            return this;
+        }
+
+        /**
+         * HTTP/2 flow control window of each connection, in bytes.
+         * Larger windows keep high latency links busy when transferring big batches.
+         *
+         * @param flowControlWindow Window size in bytes, 0 for the gRPC default (1MB).
+         * @return this Builder
+         */
+        public Builder setFlowControlWindow(int flowControlWindow) {
+            if (flowControlWindow < 0) {
+                throw new IllegalArgumentException("Parameter flowControlWindow must not be negative");
+            }
+            this.flowControlWindow = flowControlWindow;
+            return this;
+        }
+
+        /**
+         * Maximum size of a message received from the KubeMQ server, in bytes.
+         *
+         * @param maxInboundMessageSize Maximum size in bytes, 0 for the gRPC default (4MB).
+         * @return this Builder
+         */
+        public Builder setMaxInboundMessageSize(int maxInboundMessageSize) {
+            if (maxInboundMessageSize < 0) {
+                throw new IllegalArgumentException("Parameter maxInboundMessageSize must not be negative");
+            }
+            this.maxInboundMessageSize = maxInboundMessageSize;
+            return this;
+        }
+
+        /**
+         * Interval of the keepalive pings sent on idle connections.
+         *
+         * @param keepAliveTime Interval, 0 to disable keepalive.
+         * @param unit          Time unit of the interval.
+         * @return this Builder
+         */
+        public Builder setKeepAliveTime(long keepAliveTime, TimeUnit unit) {
+            this.keepAliveTimeMillis = toMillis(keepAliveTime, unit, "keepAliveTime");
+            return this;
+        }
+
+        /**
+         * Time waited for a keepalive ping acknowledgement before closing the connection.
+         *
+         * @param keepAliveTimeout Timeout, 0 for the gRPC default (20 seconds).
+         * @param unit             Time unit of the timeout.
+         * @return this Builder
+         */
+        public Builder setKeepAliveTimeout(long keepAliveTimeout, TimeUnit unit) {
+            this.keepAliveTimeoutMillis = toMillis(keepAliveTimeout, unit, "keepAliveTimeout");
+            return this;
+        }
+
+        /**
+         * Send keepalive pings even when no call is active.
+         *
+         * @param keepAliveWithoutCalls true to keep idle connections alive.
+         * @return this Builder
+         */
+        public Builder setKeepAliveWithoutCalls(boolean keepAliveWithoutCalls) {
+            this.keepAliveWithoutCalls = keepAliveWithoutCalls;
+            return this;
+        }
+
+        /**
+         * Time without active calls after which a connection is closed, it is reopened on the next call.
+         *
+         * @param idleTimeout Timeout, 0 for the gRPC default (30 minutes).
+         * @param unit        Time unit of the timeout.
+         * @return this Builder
+         */
+        public Builder setIdleTimeout(long idleTimeout, TimeUnit unit) {
+            this.idleTimeoutMillis = toMillis(idleTimeout, unit, "idleTimeout");
+            return this;
+        }
+
+        public ClientOptions build() {
+            if (directExecutor && executor != null) {
+                throw new IllegalArgumentException("Parameters executor and directExecutor are mutually exclusive");
+            }
+            return new ClientOptions(this);
+        }
+
+        private static long toMillis(long value, TimeUnit unit, String name) {
+            if (value < 0) {
+                throw new IllegalArgumentException("Parameter " + name + " must not be negative");
+            }
+            return unit.toMillis(value);
+        }
+    }
+}
@@ -55,6 +55,13 @@ class ConfigurationLoader {
      */
     private static String _cert = null;
 
+    /**
+     * static cache variable to store the number of connections opened to the KubeMQ server
+     *
+     * @since 1.0
+     */
+    private static Integer _poolSize = null;
+
     /**
      * Get KubeMQ Server Address by priority:
      * 1. Environment Variable (KubeMQServerAddress)
@@ -129,6 +136,34 @@ class ConfigurationLoader {
         return _cert;
     }
 
+    /**
+     * Get the number of connections opened to the KubeMQ server from environment variable or from Java property
+     *
+     * @return Number of pooled connections, 1 if can't be determined
+     * @apiNote The result is cached after the function is called once
+     * @since 1.0
+     */
+    static int GetChannelPoolSize() {
+        if (_poolSize != null) return _poolSize;
+
+        String value = GetFromEnvironmentVariable("KubeMQChannelPoolSize");
+
+        if (StringUtils.isBlank(value)) {
+            value = GetFromProperty("channelPoolSize");
+        }
+
+        _poolSize = 1;
+        if (StringUtils.isNotBlank(value)) {
+            try {
+                _poolSize = Math.max(1, Integer.parseInt(value.trim()));
+            } catch (NumberFormatException e) {
+                logger.warn(MessageFormat.format("Invalid KubeMQ channel pool size {0}, using a single connection", value));
+            }
+        }
+
+        return _poolSize;
+    }
+
     private static String GetFromEnvironmentVariable(String key) {
         return System.getenv(key);
     }
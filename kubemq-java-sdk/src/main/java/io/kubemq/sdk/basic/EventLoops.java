@@ -0,0 +1,135 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 KubeMQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.kubemq.sdk.basic;
+
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import io.grpc.netty.shaded.io.netty.channel.Channel;
+import io.grpc.netty.shaded.io.netty.channel.EventLoopGroup;
+import io.grpc.netty.shaded.io.netty.channel.nio.NioEventLoopGroup;
+import io.grpc.netty.shaded.io.netty.channel.socket.nio.NioSocketChannel;
+import io.grpc.netty.shaded.io.netty.util.concurrent.DefaultThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Selects the Netty transport and event loop group of the channels according to the client options.
+ * Event loop groups created by the SDK are shared by all clients using the same transport and size,
+ * and live as long as the process.
+ */
+final class EventLoops {
+
+    private static Logger logger = LoggerFactory.getLogger(EventLoops.class);
+
+    /**
+     * The epoll transport is loaded by name, as it is not packaged by every grpc-netty-shaded release.
+     */
+    private static final String EPOLL_PACKAGE = "io.grpc.netty.shaded.io.netty.channel.epoll.";
+
+    private static final Map<ClientOptions.Transport, Map<Integer, EventLoopGroup>> groups =
+            new EnumMap<>(ClientOptions.Transport.class);
+
+    private static Boolean epollAvailable = null;
+
+    private EventLoops() {
+    }
+
+    /**
+     * Apply the transport related options to the channel builder.
+     *
+     * @param builder Channel builder.
+     * @param options Client options.
+     */
+    static void configure(NettyChannelBuilder builder, ClientOptions options) {
+        ClientOptions.Transport transport = resolve(options.getTransport());
+        EventLoopGroup group = options.getEventLoopGroup();
+
+        if (group == null && (transport == ClientOptions.Transport.EPOLL || options.getEventLoopThreads() > 0)) {
+            group = shared(transport, options.getEventLoopThreads());
+        }
+
+        if (group != null) {
+            builder.eventLoopGroup(group).channelType(channelType(transport));
+        }
+    }
+
+    private static synchronized ClientOptions.Transport resolve(ClientOptions.Transport transport) {
+        if (transport != ClientOptions.Transport.EPOLL) {
+            return transport;
+        }
+        if (epollAvailable == null) {
+            epollAvailable = isEpollAvailable();
+            if (!epollAvailable) {
+                logger.warn("Netty epoll transport is not available, using NIO transport");
+            }
+        }
+        return epollAvailable ? ClientOptions.Transport.EPOLL : ClientOptions.Transport.NIO;
+    }
+
+    private static synchronized EventLoopGroup shared(ClientOptions.Transport transport, int threads) {
+        Map<Integer, EventLoopGroup> bySize = groups.computeIfAbsent(transport, t -> new HashMap<>());
+        EventLoopGroup group = bySize.get(threads);
+        if (group == null) {
+            ThreadFactory threadFactory = new DefaultThreadFactory("kubemq-" + transport.name().toLowerCase(), true);
+            group = transport == ClientOptions.Transport.EPOLL
+                    ? newEpollEventLoopGroup(threads, threadFactory)
+                    : new NioEventLoopGroup(threads, threadFactory);
+            bySize.put(threads, group);
+        }
+        return group;
+    }
+
+    private static Class<? extends Channel> channelType(ClientOptions.Transport transport) {
+        if (transport == ClientOptions.Transport.EPOLL) {
+            try {
+                return Class.forName(EPOLL_PACKAGE + "EpollSocketChannel").asSubclass(Channel.class);
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException("Netty epoll transport is not available", e);
+            }
+        }
+        return NioSocketChannel.class;
+    }
+
+    private static boolean isEpollAvailable() {
+        try {
+            return (Boolean) Class.forName(EPOLL_PACKAGE + "Epoll").getMethod("isAvailable").invoke(null);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private static EventLoopGroup newEpollEventLoopGroup(int threads, ThreadFactory threadFactory) {
+        try {
+            return (EventLoopGroup) Class.forName(EPOLL_PACKAGE + "EpollEventLoopGroup")
+                    .getConstructor(int.class, ThreadFactory.class)
+                    .newInstance(threads, threadFactory);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Netty epoll transport is not available", e);
+        }
+    }
+}
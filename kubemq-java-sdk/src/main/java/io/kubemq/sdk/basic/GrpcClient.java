@@ -25,10 +25,10 @@ package io.kubemq.sdk.basic;
 
 import io.kubemq.sdk.grpc.kubemqGrpc;
 import io.grpc.ManagedChannel;
-import io.grpc.ManagedChannelBuilder;
 import io.grpc.Metadata;
 import io.grpc.netty.shaded.io.grpc.netty.GrpcSslContexts;
 import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import io.grpc.netty.shaded.io.netty.handler.ssl.SslContext;
 import io.grpc.stub.MetadataUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -45,12 +45,21 @@ public class GrpcClient {
 
     protected String _kubemqAddress;
     protected Metadata _metadata = null;
-    private ManagedChannel channel = null;
+    private String registrationKey;
+    private ClientOptions clientOptions = ClientOptions.getDefaultInstance();
+    private ChannelRegistry.Entry channel = null;
     private kubemqGrpc.kubemqBlockingStub blockingStub = null;
     private kubemqGrpc.kubemqStub stub = null;
 
     protected GrpcClient() {
-        InitRegistration();
+        this(null);
+    }
+
+    /**
+     * @param clientOptions Connection and transport options, null to use the configuration defaults.
+     */
+    protected GrpcClient(ClientOptions clientOptions) {
+        setClientOptions(clientOptions);
     }
 
     public String getServerAddress() throws ServerAddressNotSuppliedException {
@@ -61,14 +70,24 @@ public class GrpcClient {
         this._kubemqAddress = value;
     }
 
+    public ClientOptions getClientOptions() {
+        return clientOptions;
+    }
+
+    /**
+     * Set the connection and transport options used to connect to the KubeMQ server.
+     * Takes effect when the client opens its connection, on first use or after shutdown.
+     *
+     * @param clientOptions Connection and transport options, null to use the configuration defaults.
+     */
+    public void setClientOptions(ClientOptions clientOptions) {
+        this.clientOptions = clientOptions == null ? ClientOptions.getDefaultInstance() : clientOptions;
+        InitRegistration();
+    }
+
     protected kubemqGrpc.kubemqBlockingStub GetKubeMQClient() throws ServerAddressNotSuppliedException, SSLException {
         if (blockingStub == null) {
-            // Open connection
-            if (channel == null) {
-                channel = constructChannel();
-            }
-
-            blockingStub = constructBlockingClient(channel);
+            blockingStub = constructBlockingClient(getChannel());
             if (_metadata != null) {
                 blockingStub = MetadataUtils.attachHeaders(blockingStub, _metadata);
             }
@@ -79,12 +98,7 @@ public class GrpcClient {
 
     protected kubemqGrpc.kubemqStub GetKubeMQAsyncClient() throws ServerAddressNotSuppliedException, SSLException {
         if (stub == null) {
-            // Open connection
-            if (channel == null) {
-                channel = constructChannel();
-            }
-
-            stub = constructAsyncClient(channel);
+            stub = constructAsyncClient(getChannel());
             if (_metadata != null) {
                 stub = MetadataUtils.attachHeaders(stub, _metadata);
             }
@@ -93,39 +107,122 @@ public class GrpcClient {
         return stub;
     }
 
-    public void shutdown() throws InterruptedException {
-        channel.shutdown().awaitTermination(5, TimeUnit.SECONDS);
+    /**
+     * Release the connection used by this client.
+     * The underlying channel is shared by all clients connecting with the same address,
+     * certificate file, registration key, pool size and client options, and is closed once the last of them is shut down.
+     *
+     * @throws InterruptedException if interrupted while waiting for the channel termination.
+     */
+    public synchronized void shutdown() throws InterruptedException {
+        if (channel == null) {
+            return;
+        }
+        ChannelRegistry.Entry released = channel;
+        channel = null;
+        blockingStub = null;
+        stub = null;
+        ChannelRegistry.release(released);
+    }
+
+    /**
+     * Get the shared channel connecting to the KubeMQ server, registering this client on first use.
+     *
+     * @return io.grpc.ManagedChannel object used to access the KubeMQ server
+     */
+    private synchronized ManagedChannel getChannel() throws ServerAddressNotSuppliedException, SSLException {
+        if (channel == null) {
+            // Open connection
+            ChannelRegistry.Key key = new ChannelRegistry.Key(
+                    getKubeMQAddress(),
+                    StringUtils.isNotBlank(clientOptions.getCertificateFile())
+                            ? clientOptions.getCertificateFile()
+                            : ConfigurationLoader.GetCerificateFile(),
+                    registrationKey,
+                    clientOptions.getChannelPoolSize() > 0
+                            ? clientOptions.getChannelPoolSize()
+                            : ConfigurationLoader.GetChannelPoolSize(),
+                    clientOptions
+            );
+            channel = ChannelRegistry.acquire(key, this::constructChannel);
+        }
+        return channel.getChannel();
     }
 
     /**
-     * Construct blockingStub connecting to KubeMQ server at {@code host} (host:port).
+     * Construct channel connecting to KubeMQ server at {@code host} (host:port).
+     * When more than one connection is configured the returned channel pools them,
+     * starting every call on the least loaded connection.
      *
+     * @param key Connection parameters of the channel.
      * @return io.grpc.ManagedChannel object used to access the KubeMQ server
      */
-    private ManagedChannel constructChannel() throws ServerAddressNotSuppliedException, SSLException {
-        String kubemqAddress = getKubeMQAddress();
-        String clientCertFile = ConfigurationLoader.GetCerificateFile();
+    private ManagedChannel constructChannel(ChannelRegistry.Key key) throws SSLException {
+        String kubemqAddress = key.getAddress();
+        String clientCertFile = key.getCertificateFile();
+        int poolSize = key.getPoolSize();
+        ClientOptions options = key.getOptions();
 
         Logger logger = getLogger();
         if (logger.isInfoEnabled()) {
             getLogger().info(MessageFormat.format("constructing channel to KubeMQ on {0}", kubemqAddress));
         }
 
+        SslContext sslContext = null;
         if (!StringUtils.isBlank(clientCertFile)) {
-            return NettyChannelBuilder.forTarget(kubemqAddress)
-                    .sslContext(
-                            GrpcSslContexts
-                                    .forClient()
-                                    .trustManager(new File(clientCertFile))
-                                    .build()
-                    )
+            sslContext = GrpcSslContexts
+                    .forClient()
+                    .trustManager(new File(clientCertFile))
                     .build();
+        }
+
+        if (poolSize == 1) {
+            return constructSubChannel(kubemqAddress, sslContext, options);
+        }
+
+        ManagedChannel[] channels = new ManagedChannel[poolSize];
+        for (int i = 0; i < poolSize; i++) {
+            channels[i] = constructSubChannel(kubemqAddress, sslContext, options);
+        }
+        return new ChannelPool(channels);
+    }
+
+    private ManagedChannel constructSubChannel(String kubemqAddress, SslContext sslContext, ClientOptions options) {
+        NettyChannelBuilder builder = NettyChannelBuilder.forTarget(kubemqAddress);
+
+        if (sslContext != null) {
+            builder.sslContext(sslContext);
         } else {
             // Open Insecure connection
-            return ManagedChannelBuilder.forTarget(kubemqAddress)
-                    .usePlaintext()
-                    .build();
+            builder.usePlaintext();
+        }
+
+        EventLoops.configure(builder, options);
+
+        if (options.getFlowControlWindow() > 0) {
+            builder.flowControlWindow(options.getFlowControlWindow());
+        }
+        if (options.getMaxInboundMessageSize() > 0) {
+            builder.maxInboundMessageSize(options.getMaxInboundMessageSize());
         }
+        if (options.getKeepAliveTimeMillis() > 0) {
+            builder.keepAliveTime(options.getKeepAliveTimeMillis(), TimeUnit.MILLISECONDS)
+                    .keepAliveWithoutCalls(options.isKeepAliveWithoutCalls());
+            if (options.getKeepAliveTimeoutMillis() > 0) {
+                builder.keepAliveTimeout(options.getKeepAliveTimeoutMillis(), TimeUnit.MILLISECONDS);
+            }
+        }
+        if (options.getIdleTimeoutMillis() > 0) {
+            builder.idleTimeout(options.getIdleTimeoutMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        if (options.isDirectExecutor()) {
+            builder.directExecutor();
+        } else if (options.getExecutor() != null) {
+            builder.executor(options.getExecutor());
+        }
+
+        return builder.build();
     }
 
     private org.slf4j.Logger getLogger() {
@@ -157,7 +254,9 @@ public class GrpcClient {
         if (StringUtils.isNotBlank(_kubemqAddress))
             return _kubemqAddress;
 
-        _kubemqAddress = ConfigurationLoader.GetServerAddress();
+        _kubemqAddress = StringUtils.isNotBlank(clientOptions.getServerAddress())
+                ? clientOptions.getServerAddress()
+                : ConfigurationLoader.GetServerAddress();
 
         if (StringUtils.isBlank(_kubemqAddress)) {
             throw new ServerAddressNotSuppliedException();
@@ -167,8 +266,11 @@ public class GrpcClient {
     }
 
     private void InitRegistration() {
-        String registrationKey = ConfigurationLoader.GetRegistrationKey();
+        registrationKey = StringUtils.isNotBlank(clientOptions.getRegistrationKey())
+                ? clientOptions.getRegistrationKey()
+                : ConfigurationLoader.GetRegistrationKey();
 
+        _metadata = null;
         if (StringUtils.isNotBlank(registrationKey)) {
             _metadata = new Metadata();
             Metadata.Key<String> key = Metadata.Key.of("X-Kubemq-Server-Token", ASCII_STRING_MARSHALLER);
@@ -23,6 +23,7 @@
  */
 package io.kubemq.sdk.commandquery;
 
+import io.kubemq.sdk.basic.ClientOptions;
 import io.kubemq.sdk.basic.ServerAddressNotSuppliedException;
 import io.kubemq.sdk.commandquery.lowlevel.Initiator;
 import io.kubemq.sdk.commandquery.lowlevel.Request;
@@ -57,7 +58,7 @@ public class Channel {
     public Channel(ChannelParameters parameters) {
         this(parameters.getRequestType(), parameters.getChannelName(), parameters.getClientID(),
                 parameters.getTimeout(), parameters.getCacheKey(), parameters.getCacheTTL(),
-                parameters.getKubeMQAddress());
+                parameters.getKubeMQAddress(), parameters.getClientOptions());
     }
 
     /**
@@ -77,6 +78,27 @@ public class Channel {
      */
     public Channel(RequestType requestsType, String channelName, String clientId, int timeout, String cacheKey,
             int cacheTTL, String kubeMQAddress) {
+        this(requestsType, channelName, clientId, timeout, cacheKey, cacheTTL, kubeMQAddress, null);
+    }
+
+    /**
+     * Initializes a new instance of the RequestChannel class using a set of
+     * parameters.
+     *
+     * @param channelName   Represents The channel name to send to using the KubeMQ.
+     * @param clientId      Represents the sender ID that the Request will be send
+     *                      under.
+     * @param timeout       Represents the limit for waiting for response
+     *                      (Milliseconds).
+     * @param cacheKey      Represents if the request should be saved from Cache and
+     *                      under what "Key"(java.lang.String) to save it.
+     * @param cacheTTL      Cache time to live : for how long does the request
+     *                      should be saved in Cache
+     * @param kubeMQAddress KubeMQ server address.
+     * @param clientOptions KubeMQ connection and transport options.
+     */
+    public Channel(RequestType requestsType, String channelName, String clientId, int timeout, String cacheKey,
+            int cacheTTL, String kubeMQAddress, ClientOptions clientOptions) {
         this.requestType = requestsType;
         this.channelName = channelName;
         this.clientId = clientId;
@@ -86,7 +108,7 @@ public class Channel {
 
         isValid();
 
-        _initiator = new Initiator(kubeMQAddress);
+        _initiator = new Initiator(kubeMQAddress, clientOptions);
     }
 
     /**
@@ -210,6 +232,20 @@ public class Channel {
        return _initiator.Ping();
     }
 
+    public QueryCache getQueryCache() {
+        return _initiator.getQueryCache();
+    }
+
+    /**
+     * Set the near-cache answering the queries of this channel that set a cache key and a cache TTL (Seconds)
+     * without a round trip to the server.
+     *
+     * @param queryCache Query response cache, null to send every request to the server.
+     */
+    public void setQueryCache(QueryCache queryCache) {
+        _initiator.setQueryCache(queryCache);
+    }
+
     private void isValid() {
         if (StringUtils.isEmpty(channelName)) {
             throw new IllegalArgumentException("Parameter channelName is mandatory");
@@ -235,7 +271,7 @@ public class Channel {
         innerRequest.setCacheKey(cacheKey);
         innerRequest.setCacheTTL(cacheTTL);
         innerRequest.setRequestId(request.getRequestId());
-        innerRequest.setBody(request.getBody());
+        innerRequest.setBody(request.getBodyAsByteString());
         innerRequest.setMetadata(request.getMetadata());
         innerRequest.setTags(request.getTags());
 
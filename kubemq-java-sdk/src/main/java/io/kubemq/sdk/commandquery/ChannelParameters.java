@@ -23,6 +23,8 @@
  */
 package io.kubemq.sdk.commandquery;
 
+import io.kubemq.sdk.basic.ClientOptions;
+
 public class ChannelParameters {
 
     /**
@@ -54,6 +56,10 @@ public class ChannelParameters {
      * Represents The address of the KubeMQ server
      */
     private String kubeMQAddress;
+    /**
+     * Represents the KubeMQ connection and transport options
+     */
+    private ClientOptions clientOptions;
 
     /**
      * Initializes a new instance of the io.kubemq.sdk.commandquery.RequestChannelParameters class
@@ -139,4 +145,12 @@ public class ChannelParameters {
         this.kubeMQAddress = kubeMQAddress;
     }
 
+    public ClientOptions getClientOptions() {
+        return clientOptions;
+    }
+
+    public void setClientOptions(ClientOptions clientOptions) {
+        this.clientOptions = clientOptions;
+    }
+
 }
@@ -0,0 +1,293 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 KubeMQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.kubemq.sdk.commandquery;
+
+import io.kubemq.sdk.commandquery.lowlevel.Request;
+import io.kubemq.sdk.grpc.Kubemq;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process near-cache of query responses, answering repeated queries without a round trip to the server.
+ * Queries are cached when they set a cache key and a cache TTL (Seconds), under their channel and cache key,
+ * and only when they were executed without error; a cached response expires after the TTL of the query that fetched it.
+ * <p>
+ * The cache holds at most {@code maxEntries} responses. When full, the least recently used response is only replaced
+ * by a response whose key was queried more often, as estimated by a count-min sketch of the recent queries,
+ * so a burst of one-off queries does not flush the hot entries.
+ * <p>
+ * Methods are thread safe.
+ */
+public class QueryCache {
+
+    private static final int EXPIRY_SCAN_LIMIT = 8;
+    private static final int SKETCH_DEPTH = 4;
+    private static final int MAX_FREQUENCY = 15;
+    private static final int[] SKETCH_SEEDS = {0x97CB3127, 0xB88B6B4F, 0x2C1B3C6D, 0x7FEB352D};
+
+    private final int maxEntries;
+    private final LinkedHashMap<Key, Entry> entries;
+    private final byte[] sketch;
+    private final int sketchShift;
+    private final int sketchWidth;
+    private final int sampleSize;
+    private int samples;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * @param maxEntries Maximum number of cached responses.
+     */
+    public QueryCache(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Parameter maxEntries must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        this.sketchWidth = Integer.highestOneBit(Math.max(16, maxEntries * 2 - 1)) << 1;
+        this.sketchShift = 32 - Integer.numberOfTrailingZeros(sketchWidth);
+        this.sketch = new byte[SKETCH_DEPTH * sketchWidth];
+        this.sampleSize = 10 * Math.max(16, maxEntries);
+    }
+
+    /**
+     * @param request Request about to be sent.
+     * @return true if the response of the request can be cached: a query with a cache key and a cache TTL.
+     */
+    public static boolean IsCacheable(Request request) {
+        return request.getRequestType() == RequestType.Query
+                && StringUtils.isNotEmpty(request.getCacheKey())
+                && request.getCacheTTL() > 0;
+    }
+
+    /**
+     * Get the cached response of a query.
+     *
+     * @param channel  Channel of the query.
+     * @param cacheKey Cache key of the query.
+     * @return The cached response, marked as a cache hit, null if none is cached or it expired.
+     */
+    public synchronized Kubemq.Response Get(String channel, String cacheKey) {
+        Key key = new Key(channel, cacheKey);
+        increment(key);
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAt - System.nanoTime() <= 0) {
+            entries.remove(key);
+            entry = null;
+        }
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.response;
+    }
+
+    /**
+     * Cache the response of a query, if it was executed without error.
+     *
+     * @param channel    Channel of the query.
+     * @param cacheKey   Cache key of the query.
+     * @param ttlSeconds Time to live of the response (Seconds).
+     * @param response   Response received from the server.
+     */
+    public synchronized void Put(String channel, String cacheKey, int ttlSeconds, Kubemq.Response response) {
+        if (ttlSeconds <= 0 || !response.getExecuted() || StringUtils.isNotEmpty(response.getError())) {
+            return;
+        }
+        Key key = new Key(channel, cacheKey);
+        Entry entry = new Entry(response.toBuilder().setCacheHit(true).build(),
+                System.nanoTime() + TimeUnit.SECONDS.toNanos(ttlSeconds));
+        if (entries.containsKey(key) || entries.size() < maxEntries) {
+            entries.put(key, entry);
+            return;
+        }
+
+        removeExpired(System.nanoTime());
+        if (entries.size() >= maxEntries) {
+            Map.Entry<Key, Entry> victim = entries.entrySet().iterator().next();
+            if (frequency(key) <= frequency(victim.getKey())) {
+                // Queried less often than the entry it would replace
+                return;
+            }
+            entries.remove(victim.getKey());
+            evictions++;
+        }
+        entries.put(key, entry);
+    }
+
+    /**
+     * Remove the cached response of a query.
+     *
+     * @param channel  Channel of the query.
+     * @param cacheKey Cache key of the query.
+     */
+    public synchronized void Invalidate(String channel, String cacheKey) {
+        entries.remove(new Key(channel, cacheKey));
+    }
+
+    /**
+     * Remove the cached responses of all the queries of a channel.
+     *
+     * @param channel Channel of the queries.
+     */
+    public synchronized void InvalidateChannel(String channel) {
+        entries.keySet().removeIf(key -> Objects.equals(key.channel, channel));
+    }
+
+    /**
+     * Remove all the cached responses. The query frequencies and metrics are kept.
+     */
+    public synchronized void InvalidateAll() {
+        entries.clear();
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * @return Number of cached responses, including expired ones not removed yet.
+     */
+    public synchronized int getSize() {
+        return entries.size();
+    }
+
+    /**
+     * @return Number of queries answered from the cache.
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return Number of cacheable queries sent to the server.
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return Share of the cacheable queries answered from the cache, 0 when there was none.
+     */
+    public synchronized double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    /**
+     * @return Number of responses removed to make room for more frequently queried ones.
+     */
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Remove the expired responses among the least recently used ones, so that the cost of a miss does not grow with the cache.
+     * Other expired responses are removed when read, or evicted as they become the least recently used.
+     */
+    private void removeExpired(long now) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        for (int i = 0; i < EXPIRY_SCAN_LIMIT && iterator.hasNext(); i++) {
+            if (iterator.next().expiresAt - now <= 0) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private void increment(Key key) {
+        int hash = key.hashCode();
+        for (int i = 0; i < SKETCH_DEPTH; i++) {
+            int index = sketchIndex(hash, i);
+            if (sketch[index] < MAX_FREQUENCY) {
+                sketch[index]++;
+            }
+        }
+        if (++samples >= sampleSize) {
+            // Age the frequencies so that past popularity fades
+            for (int i = 0; i < sketch.length; i++) {
+                sketch[i] >>= 1;
+            }
+            samples /= 2;
+        }
+    }
+
+    private int frequency(Key key) {
+        int hash = key.hashCode();
+        int frequency = MAX_FREQUENCY;
+        for (int i = 0; i < SKETCH_DEPTH; i++) {
+            frequency = Math.min(frequency, sketch[sketchIndex(hash, i)]);
+        }
+        return frequency;
+    }
+
+    private int sketchIndex(int hash, int row) {
+        int mixed = (hash ^ (hash >>> 16)) * SKETCH_SEEDS[row];
+        return row * sketchWidth + (mixed >>> sketchShift);
+    }
+
+    private static final class Key {
+
+        private final String channel;
+        private final String cacheKey;
+        private final int hash;
+
+        private Key(String channel, String cacheKey) {
+            this.channel = channel;
+            this.cacheKey = cacheKey;
+            this.hash = Objects.hash(channel, cacheKey);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return Objects.equals(channel, other.channel) && Objects.equals(cacheKey, other.cacheKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class Entry {
+
+        private final Kubemq.Response response;
+        private final long expiresAt;
+
+        private Entry(Kubemq.Response response, long expiresAt) {
+            this.response = response;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -23,6 +23,9 @@
  */
 package io.kubemq.sdk.commandquery;
 
+import com.google.protobuf.ByteString;
+import io.kubemq.sdk.tools.Converter;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -65,6 +68,11 @@ public class RequestReceive {
      */
     private byte[] body;
 
+    /**
+     * Represents The content of the Request, when received without copying
+     */
+    private ByteString bodyBytes;
+
     /**
      * Represents the limit for waiting for response (Milliseconds)
      */
@@ -88,7 +96,7 @@ public class RequestReceive {
         setClientID(innerRequest.getClientID());
         setChannel(innerRequest.getChannel());
         setMetadata(innerRequest.getMetadata());
-        setBody(innerRequest.getBody().toByteArray());
+        setBody(innerRequest.getBody());
         setReplyChannel(innerRequest.getReplyChannel());
         setTimeout(innerRequest.getTimeout());
         setCacheKey(innerRequest.getCacheKey());
@@ -144,12 +152,44 @@ public class RequestReceive {
         this.metadata = metadata;
     }
 
+    /**
+     * @return The body, copied from the ByteString it was set or received as on first call.
+     */
     public byte[] getBody() {
+        body = Converter.BodyAsByteArray(body, bodyBytes);
         return body;
     }
 
     public void setBody(byte[] body) {
         this.body = body;
+        this.bodyBytes = null;
+    }
+
+    /**
+     * Set the body without copying it.
+     *
+     * @param body The body.
+     */
+    public void setBody(ByteString body) {
+        this.bodyBytes = body;
+        this.body = null;
+    }
+
+    /**
+     * Set the body without copying it, see {@link Converter#WrapUnsafe(ByteBuffer)}.
+     *
+     * @param body The body.
+     */
+    public void setBody(ByteBuffer body) {
+        setBody(Converter.WrapUnsafe(body));
+    }
+
+    public ByteString getBodyAsByteString() {
+        return Converter.BodyAsByteString(body, bodyBytes);
+    }
+
+    public ByteBuffer getBodyAsByteBuffer() {
+        return Converter.BodyAsByteBuffer(body, bodyBytes);
     }
 
     public int getTimeout() {
@@ -23,6 +23,7 @@
  */
 package io.kubemq.sdk.commandquery;
 
+import io.kubemq.sdk.basic.ClientOptions;
 import io.kubemq.sdk.basic.GrpcClient;
 import io.kubemq.sdk.basic.ServerAddressNotSuppliedException;
 import io.kubemq.sdk.grpc.Kubemq;
@@ -58,6 +59,17 @@ public class Responder extends GrpcClient {
      * @param KubeMQAddress KubeMQ server address.
      */
     public Responder(String KubeMQAddress) {
+        this(KubeMQAddress, null);
+    }
+
+    /**
+     * Initialize a new Responder to subscribe to Response.
+     *
+     * @param KubeMQAddress KubeMQ server address, null to take it from the client options or configuration.
+     * @param clientOptions Connection and transport options.
+     */
+    public Responder(String KubeMQAddress, ClientOptions clientOptions) {
+        super(clientOptions);
         _kubemqAddress = KubeMQAddress;
     }
 
@@ -27,6 +27,7 @@ import com.google.protobuf.ByteString;
 import io.kubemq.sdk.grpc.Kubemq;
 import io.kubemq.sdk.tools.Converter;
 
+import java.nio.ByteBuffer;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.HashMap;
@@ -53,6 +54,10 @@ public class Response {
      * Represents The content of the Response
      */
     private byte[] body;
+    /**
+     * Represents The content of the Response, when set without copying
+     */
+    private ByteString bodyBytes;
     /**
      * Represents if the response was received from Cache
      */
@@ -90,7 +95,7 @@ public class Response {
         requestID = inner.getRequestID();
         replyChannel = inner.getReplyChannel();
         metadata = Optional.ofNullable(inner.getMetadata()).orElse("");
-        body = inner.getBody().toByteArray();
+        bodyBytes = inner.getBody();
         cacheHit = inner.getCacheHit();
         timestamp = Converter.FromUnixTime(inner.getTimestamp());
         executed = inner.getExecuted();
@@ -104,7 +109,7 @@ public class Response {
                 .setRequestID(requestID)
                 .setReplyChannel(replyChannel)
                 .setMetadata(Optional.ofNullable(metadata).orElse(""))
-                .setBody(ByteString.copyFrom(body))
+                .setBody(getBodyAsByteString())
                 .setCacheHit(cacheHit)
                 .setTimestamp(Converter.ToUnixTime(timestamp))
                 .setExecuted(executed)
@@ -145,12 +150,44 @@ public class Response {
         this.metadata = metadata;
     }
 
+    /**
+     * @return The body, copied from the ByteString it was set or received as on first call.
+     */
     public byte[] getBody() {
+        body = Converter.BodyAsByteArray(body, bodyBytes);
         return body;
     }
 
     public void setBody(byte[] body) {
         this.body = body;
+        this.bodyBytes = null;
+    }
+
+    /**
+     * Set the body without copying it.
+     *
+     * @param body The body.
+     */
+    public void setBody(ByteString body) {
+        this.bodyBytes = body;
+        this.body = null;
+    }
+
+    /**
+     * Set the body without copying it, see {@link Converter#WrapUnsafe(ByteBuffer)}.
+     *
+     * @param body The body.
+     */
+    public void setBody(ByteBuffer body) {
+        setBody(Converter.WrapUnsafe(body));
+    }
+
+    public ByteString getBodyAsByteString() {
+        return Converter.BodyAsByteString(body, bodyBytes);
+    }
+
+    public ByteBuffer getBodyAsByteBuffer() {
+        return Converter.BodyAsByteBuffer(body, bodyBytes);
     }
 
     public boolean isCacheHit() {
@@ -23,12 +23,16 @@
  */
 package io.kubemq.sdk.commandquery.lowlevel;
 
+import io.kubemq.sdk.basic.ClientOptions;
 import io.kubemq.sdk.basic.GrpcClient;
 import io.kubemq.sdk.basic.ServerAddressNotSuppliedException;
+import io.kubemq.sdk.commandquery.QueryCache;
 import io.kubemq.sdk.commandquery.Response;
 import io.kubemq.sdk.grpc.Kubemq;
 import io.kubemq.sdk.grpc.Kubemq.PingResult;
+import io.kubemq.sdk.tools.IDGenerator;
 import io.grpc.stub.StreamObserver;
+import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -43,6 +47,8 @@ public class Initiator extends GrpcClient {
 
     private static Logger logger = LoggerFactory.getLogger(Initiator.class);
 
+    private volatile QueryCache queryCache;
+
     /**
      * Initialize a new Initiator to send requests and handle response.
      * KubeMQAddress will be parsed from Config or environment parameter.
@@ -57,6 +63,17 @@ public class Initiator extends GrpcClient {
      * @param KubeMQAddress KubeMQ server address.
      */
     public Initiator(String KubeMQAddress) {
+        this(KubeMQAddress, null);
+    }
+
+    /**
+     * Initialize a new Initiator to send requests and handle response.
+     *
+     * @param KubeMQAddress KubeMQ server address, null to take it from the client options or configuration.
+     * @param clientOptions Connection and transport options.
+     */
+    public Initiator(String KubeMQAddress, ClientOptions clientOptions) {
+        super(clientOptions);
         _kubemqAddress = KubeMQAddress;
     }
 
@@ -69,10 +86,23 @@ public class Initiator extends GrpcClient {
      * @throws SSLException                      Indicates some kind of error detected by an SSL subsystem.
      */
     public void SendRequest(Request request, final StreamObserver<Response> responseStreamObserver) throws ServerAddressNotSuppliedException, SSLException {
+        final QueryCache cache = cacheFor(request);
+        if (cache != null) {
+            Kubemq.Response cached = cache.Get(request.getChannel(), request.getCacheKey());
+            if (cached != null) {
+                responseStreamObserver.onNext(cacheHit(request, cached));
+                responseStreamObserver.onCompleted();
+                return;
+            }
+        }
+
         Kubemq.Request innerRequest = request.Convert();
         GetKubeMQAsyncClient().sendRequest(innerRequest, new StreamObserver<Kubemq.Response>() {
             @Override
             public void onNext(Kubemq.Response value) {
+                if (cache != null) {
+                    cache.Put(request.getChannel(), request.getCacheKey(), request.getCacheTTL(), value);
+                }
                 responseStreamObserver.onNext(new Response(value));
             }
 
@@ -98,15 +128,54 @@ public class Initiator extends GrpcClient {
      */
     public Response SendRequest(Request request) throws ServerAddressNotSuppliedException, SSLException {
 
+        QueryCache cache = cacheFor(request);
+        if (cache != null) {
+            Kubemq.Response cached = cache.Get(request.getChannel(), request.getCacheKey());
+            if (cached != null) {
+                return cacheHit(request, cached);
+            }
+        }
+
         Kubemq.Request innerRequest = request.Convert();
 
         // Send request and wait for response
         Kubemq.Response innerResponse = GetKubeMQClient().sendRequest(innerRequest);
 
+        if (cache != null) {
+            cache.Put(request.getChannel(), request.getCacheKey(), request.getCacheTTL(), innerResponse);
+        }
+
         // convert InnerResponse to Response and return response to end user
         return new Response(innerResponse);
     }
 
+    public QueryCache getQueryCache() {
+        return queryCache;
+    }
+
+    /**
+     * Set the near-cache answering the queries that set a cache key and a cache TTL without a round trip to the server.
+     * The cache can be shared by several initiators.
+     *
+     * @param queryCache Query response cache, null to send every request to the server.
+     */
+    public void setQueryCache(QueryCache queryCache) {
+        this.queryCache = queryCache;
+    }
+
+    private QueryCache cacheFor(Request request) {
+        QueryCache cache = queryCache;
+        return cache != null && QueryCache.IsCacheable(request) ? cache : null;
+    }
+
+    /**
+     * Answer a request from a cached response, carrying the ID of this request rather than of the request that filled the cache.
+     */
+    private Response cacheHit(Request request, Kubemq.Response cached) {
+        String requestId = StringUtils.isEmpty(request.getRequestId()) ? IDGenerator.Getid() : request.getRequestId();
+        return new Response(cached.toBuilder().setRequestID(requestId).build());
+    }
+
     private void LogRequest(Request request) {
         logger.trace(
                 "Initiator->SendRequest. ID:'{}', Channel:'{}', ReplyChannel:'{}'",
@@ -26,15 +26,16 @@ package io.kubemq.sdk.commandquery.lowlevel;
 import com.google.protobuf.ByteString;
 import io.kubemq.sdk.commandquery.RequestType;
 import io.kubemq.sdk.grpc.Kubemq;
+import io.kubemq.sdk.tools.Converter;
+import io.kubemq.sdk.tools.IDGenerator;
 import org.apache.commons.lang3.StringUtils;
 
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicInteger;
 
 public class Request {
-    private static AtomicInteger _id = new AtomicInteger(0);
 
     /**
      * Represents a Request identifier.
@@ -64,6 +65,11 @@ public class Request {
      * Represents The content of the io.kubemq.sdk.requestreply.lowlevel.Request.
      */
     private byte[] body;
+
+    /**
+     * Represents The content of the Request, when set without copying.
+     */
+    private ByteString bodyBytes;
     /**
      * Represents the limit for waiting for response (Milliseconds).
      */
@@ -115,13 +121,13 @@ public class Request {
 
     Request(Kubemq.Request innerRequest) {
         this.requestId = StringUtils.isEmpty(innerRequest.getRequestID())
-                ? GetNextId().toString()
+                ? IDGenerator.Getid()
                 : innerRequest.getRequestID();
         this.requestType = RequestType.values()[(innerRequest.getRequestTypeDataValue())];
         this.clientId = Optional.ofNullable(innerRequest.getClientID()).orElse("");
         this.channel = innerRequest.getChannel();
         this.metadata = Optional.ofNullable(innerRequest.getMetadata()).orElse("");
-        this.body = innerRequest.getBody().toByteArray();
+        this.bodyBytes = innerRequest.getBody();
         this.replyChannel = innerRequest.getReplyChannel();
         this.timeout = innerRequest.getTimeout();
         this.cacheKey = Optional.ofNullable(innerRequest.getCacheKey()).orElse("");
@@ -137,12 +143,12 @@ public class Request {
     Kubemq.Request Convert() {
         return Kubemq.Request
                 .newBuilder()
-                .setRequestID((StringUtils.isEmpty(requestId)) ? GetNextId().toString() : requestId)
+                .setRequestID((StringUtils.isEmpty(requestId)) ? IDGenerator.Getid() : requestId)
                 .setClientID(Optional.ofNullable(clientId).orElse(""))
                 .setChannel(channel)
                 // ReplyChannel - Set only by KubeMQ server
                 .setMetadata(Optional.ofNullable(metadata).orElse(""))
-                .setBody(ByteString.copyFrom(body))
+                .setBody(getBodyAsByteString())
                 .setTimeout(timeout)
                 .setCacheKey(Optional.ofNullable(cacheKey).orElse(""))
                 .setCacheTTL(cacheTTL)
@@ -151,15 +157,6 @@ public class Request {
                 .build();
     }
 
-    /**
-     * Get an unique thread safety ID between 1 to 32,767
-     *
-     * @return unique ID between 1 to 32,767
-     */
-    private Integer GetNextId() {
-        return _id.updateAndGet(i -> i == Integer.MAX_VALUE ? 1 : i + 1);
-    }
-
     public String getRequestId() {
         return requestId;
     }
@@ -208,12 +205,44 @@ public class Request {
         this.metadata = metadata;
     }
 
+    /**
+     * @return The body, copied from the ByteString it was set or received as on first call.
+     */
     public byte[] getBody() {
+        body = Converter.BodyAsByteArray(body, bodyBytes);
         return body;
     }
 
     public void setBody(byte[] body) {
         this.body = body;
+        this.bodyBytes = null;
+    }
+
+    /**
+     * Set the body without copying it.
+     *
+     * @param body The body.
+     */
+    public void setBody(ByteString body) {
+        this.bodyBytes = body;
+        this.body = null;
+    }
+
+    /**
+     * Set the body without copying it, see {@link Converter#WrapUnsafe(ByteBuffer)}.
+     *
+     * @param body The body.
+     */
+    public void setBody(ByteBuffer body) {
+        setBody(Converter.WrapUnsafe(body));
+    }
+
+    public ByteString getBodyAsByteString() {
+        return Converter.BodyAsByteString(body, bodyBytes);
+    }
+
+    public ByteBuffer getBodyAsByteBuffer() {
+        return Converter.BodyAsByteBuffer(body, bodyBytes);
     }
 
     public int getTimeout() {
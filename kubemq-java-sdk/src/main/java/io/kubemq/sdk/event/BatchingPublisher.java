@@ -0,0 +1,450 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 KubeMQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.kubemq.sdk.event;
+
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import io.kubemq.sdk.basic.GrpcClient;
+import io.kubemq.sdk.basic.ServerAddressNotSuppliedException;
+import io.kubemq.sdk.grpc.Kubemq;
+import io.kubemq.sdk.tools.IDGenerator;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.net.ssl.SSLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes events of a single channel from any number of threads over one events stream.
+ * Events are collected into batches of up to a maximum count or size, optionally waiting the linger time
+ * for more events, and each batch is written back to back after a single readiness check,
+ * so the transport can coalesce the writes of a batch into fewer flushes.
+ * The stream still carries one message per event, batching does not save the per-message framing.
+ * When the server slows down the events wait in a bounded buffer and Publish blocks once the buffer is full,
+ * instead of buffering without limit in the transport.
+ */
+public class BatchingPublisher extends GrpcClient {
+
+    private static Logger logger = LoggerFactory.getLogger(BatchingPublisher.class);
+
+    private static final long RECONNECT_DELAY_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long READY_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 5000;
+
+    private final String channelName;
+    private final String clientID;
+    private final boolean store;
+    private final long lingerNanos;
+    private final int maxBatchCount;
+    private final int maxBatchBytes;
+
+    private final BlockingQueue<Kubemq.Event> pending;
+    private final AtomicLong unwritten = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread flusher;
+
+    private final Object readyLock = new Object();
+    private ClientCallStreamObserver<Kubemq.Event> stream;
+    private long reconnectAt;
+
+    private volatile boolean closed;
+    private volatile long shutdownDeadline;
+
+    /**
+     * Initializes a new BatchingPublisher without linger,
+     * with batches of up to 500 events or 1MB and a buffer of 10,000 events.
+     *
+     * @param parameters Channel parameters of the published events.
+     */
+    public BatchingPublisher(ChannelParameters parameters) {
+        this(parameters, 0, 500, 1024 * 1024, 10000);
+    }
+
+    /**
+     * Initializes a new BatchingPublisher.
+     *
+     * @param parameters       Channel parameters of the published events.
+     * @param lingerMillis     Time waited for more events before writing a batch, 0 to write the events already buffered (Milliseconds).
+     * @param maxBatchCount    Maximum number of events in a batch.
+     * @param maxBatchBytes    Maximum serialized size of a batch, in bytes.
+     * @param maxPendingEvents Maximum number of events waiting to be written, Publish blocks beyond it.
+     */
+    public BatchingPublisher(ChannelParameters parameters, long lingerMillis, int maxBatchCount, int maxBatchBytes,
+                             int maxPendingEvents) {
+        super(parameters.getClientOptions());
+        this._kubemqAddress = parameters.getKubeMQAddress();
+        this.channelName = parameters.getChannelName();
+        this.clientID = parameters.getClientID();
+        this.store = parameters.isStore();
+
+        if (StringUtils.isEmpty(channelName)) {
+            throw new IllegalArgumentException("Parameter channelName is mandatory");
+        }
+        if (lingerMillis < 0) {
+            throw new IllegalArgumentException("Parameter lingerMillis must not be negative");
+        }
+        if (maxBatchCount < 1 || maxBatchBytes < 1 || maxPendingEvents < 1) {
+            throw new IllegalArgumentException("Batch and buffer limits must be positive");
+        }
+
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+        this.maxBatchCount = maxBatchCount;
+        this.maxBatchBytes = maxBatchBytes;
+        this.pending = new ArrayBlockingQueue<>(maxPendingEvents);
+
+        flusher = new Thread(this::run, "kubemq-batching-publisher-" + channelName);
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Publish an event, blocking while the buffer of pending events is full.
+     *
+     * @param event The event to publish.
+     * @throws InterruptedException if interrupted while waiting for room in the buffer.
+     */
+    public void Publish(Event event) throws InterruptedException {
+        Kubemq.Event inner = toInnerEvent(event);
+        checkOpen();
+        unwritten.incrementAndGet();
+        try {
+            pending.put(inner);
+        } catch (InterruptedException e) {
+            written(1);
+            throw e;
+        }
+        withdrawIfClosed(inner);
+    }
+
+    /**
+     * Publish an event, waiting up to {@code timeout} for room in the buffer of pending events.
+     *
+     * @param event   The event to publish.
+     * @param timeout Maximum time to wait.
+     * @param unit    Time unit of the timeout.
+     * @return true if the event was accepted, false if the buffer stayed full.
+     * @throws InterruptedException if interrupted while waiting for room in the buffer.
+     */
+    public boolean TryPublish(Event event, long timeout, TimeUnit unit) throws InterruptedException {
+        Kubemq.Event inner = toInnerEvent(event);
+        checkOpen();
+        unwritten.incrementAndGet();
+        boolean accepted = false;
+        try {
+            accepted = pending.offer(inner, timeout, unit);
+        } finally {
+            if (!accepted) {
+                written(1);
+            }
+        }
+        if (accepted) {
+            withdrawIfClosed(inner);
+        }
+        return accepted;
+    }
+
+    /**
+     * Block until every event accepted so far was written to the stream, or dropped.
+     *
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public void Flush() throws InterruptedException {
+        synchronized (unwritten) {
+            while (unwritten.get() > 0 && flusher.isAlive()) {
+                unwritten.wait(100);
+            }
+        }
+    }
+
+    /**
+     * @return Number of events accepted but not written to the stream yet.
+     */
+    public long getPendingEvents() {
+        return unwritten.get();
+    }
+
+    /**
+     * @return Number of accepted events that could not be written, because the client is misconfigured
+     * or the server could not be reached before the shutdown timeout.
+     */
+    public long getDroppedEvents() {
+        return dropped.get();
+    }
+
+    /**
+     * Write the pending events, complete the stream and release the connection.
+     * Events that cannot be written within 5 seconds, because the server cannot be reached, are dropped.
+     *
+     * @throws InterruptedException if interrupted while waiting for the pending events.
+     */
+    @Override
+    public void shutdown() throws InterruptedException {
+        shutdownDeadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(SHUTDOWN_TIMEOUT_MILLIS);
+        closed = true;
+        synchronized (readyLock) {
+            readyLock.notifyAll();
+        }
+        flusher.join(SHUTDOWN_TIMEOUT_MILLIS + 1000);
+        if (flusher.isAlive()) {
+            flusher.interrupt();
+            flusher.join(1000);
+        }
+        dropPending();
+        super.shutdown();
+    }
+
+    private void run() {
+        List<Kubemq.Event> batch = new ArrayList<>(maxBatchCount);
+        int sent = 0;
+        try {
+            while (!closed || !pending.isEmpty() || !batch.isEmpty()) {
+                if (batch.isEmpty()) {
+                    Kubemq.Event first = pending.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    collect(first, batch);
+                }
+                try {
+                    // One readiness check per batch, the transport holds at most one batch beyond its ready threshold
+                    ClientCallStreamObserver<Kubemq.Event> ready = awaitReady();
+                    for (; sent < batch.size(); sent++) {
+                        ready.onNext(batch.get(sent));
+                    }
+                    if (logger.isTraceEnabled()) {
+                        logger.trace("BatchingPublisher wrote {} events to channel '{}'", batch.size(), channelName);
+                    }
+                } catch (TimeoutException e) {
+                    break;
+                } catch (ServerAddressNotSuppliedException | SSLException e) {
+                    logger.error("Failed to open the events stream of channel '{}': {}", channelName, e.getMessage());
+                    drop(batch.size() - sent);
+                    batch.subList(sent, batch.size()).clear();
+                } catch (RuntimeException e) {
+                    // The unsent rest of the batch is retried on a new stream
+                    logger.warn("Failed to write an event to channel '{}', re-opening the stream: {}", channelName, e.getMessage());
+                    resetStream(e);
+                } finally {
+                    if (sent > 0) {
+                        written(sent);
+                        batch.subList(0, sent).clear();
+                        sent = 0;
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (!batch.isEmpty()) {
+                logger.error("BatchingPublisher of channel '{}' shut down with {} events not written", channelName, batch.size());
+                drop(batch.size());
+            }
+            dropPending();
+            closeStream();
+        }
+    }
+
+    private void collect(Kubemq.Event first, List<Kubemq.Event> batch) throws InterruptedException {
+        batch.add(first);
+        int bytes = first.getSerializedSize();
+        long deadline = System.nanoTime() + lingerNanos;
+
+        while (batch.size() < maxBatchCount && bytes < maxBatchBytes) {
+            long remaining = deadline - System.nanoTime();
+            Kubemq.Event next = remaining > 0 ? pending.poll(remaining, TimeUnit.NANOSECONDS) : pending.poll();
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+            bytes += next.getSerializedSize();
+        }
+    }
+
+    /**
+     * Wait until the events stream can accept a message without buffering it, re-opening the stream if it was closed.
+     *
+     * @throws TimeoutException if the publisher was shut down and the stream did not get ready before the shutdown deadline.
+     */
+    private ClientCallStreamObserver<Kubemq.Event> awaitReady()
+            throws InterruptedException, TimeoutException, ServerAddressNotSuppliedException, SSLException {
+        synchronized (readyLock) {
+            while (true) {
+                long wait = READY_POLL_NANOS;
+                if (closed) {
+                    long remaining = shutdownDeadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        throw new TimeoutException("Events stream of channel " + channelName + " not ready before shutdown");
+                    }
+                    wait = Math.min(wait, remaining);
+                }
+                if (stream == null) {
+                    long delay = reconnectAt - System.nanoTime();
+                    if (delay > 0) {
+                        TimeUnit.NANOSECONDS.timedWait(readyLock, Math.min(delay, wait));
+                        continue;
+                    }
+                    GetKubeMQAsyncClient().sendEventsStream(new ResultObserver());
+                }
+                if (stream.isReady()) {
+                    return stream;
+                }
+                TimeUnit.NANOSECONDS.timedWait(readyLock, wait);
+            }
+        }
+    }
+
+    /**
+     * Cancel a stream that failed to accept an event, re-opening it after the reconnect delay.
+     */
+    private void resetStream(Throwable cause) {
+        synchronized (readyLock) {
+            if (stream != null) {
+                stream.cancel("Failed to write an event", cause);
+                stream = null;
+                reconnectAt = System.nanoTime() + RECONNECT_DELAY_NANOS;
+            }
+        }
+    }
+
+    private void closeStream() {
+        synchronized (readyLock) {
+            if (stream != null) {
+                stream.onCompleted();
+                stream = null;
+            }
+        }
+    }
+
+    /**
+     * Drop the events left in the buffer once the flusher stopped taking them.
+     */
+    private void dropPending() {
+        int unsent = 0;
+        while (pending.poll() != null) {
+            unsent++;
+        }
+        if (unsent > 0) {
+            logger.error("BatchingPublisher of channel '{}' shut down with {} events not written", channelName, unsent);
+            drop(unsent);
+        }
+    }
+
+    /**
+     * Take back an event enqueued while the publisher was shutting down, since the flusher may have
+     * stopped before it. An event already taken by the flusher or the shutdown is written or dropped by them.
+     */
+    private void withdrawIfClosed(Kubemq.Event inner) {
+        if (closed && pending.remove(inner)) {
+            written(1);
+            throw new IllegalStateException("BatchingPublisher is shut down");
+        }
+    }
+
+    private void drop(int count) {
+        dropped.addAndGet(count);
+        written(count);
+    }
+
+    private void written(int count) {
+        if (unwritten.addAndGet(-count) == 0) {
+            synchronized (unwritten) {
+                unwritten.notifyAll();
+            }
+        }
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("BatchingPublisher is shut down");
+        }
+    }
+
+    private Kubemq.Event toInnerEvent(Event event) {
+        return Kubemq.Event.newBuilder()
+                .setChannel(channelName)
+                .setClientID(Optional.ofNullable(clientID).orElse(""))
+                .setStore(store)
+                .setMetadata(Optional.ofNullable(event.getMetadata()).orElse(""))
+                .setBody(event.getBodyAsByteString())
+                .setEventID(StringUtils.isEmpty(event.getEventId()) ? IDGenerator.Getid() : event.getEventId())
+                .putAllTags(Optional.ofNullable(event.getTags()).orElse(Collections.emptyMap()))
+                .build();
+    }
+
+    /**
+     * Tracks the readiness of the events stream and logs the events the server failed to send.
+     */
+    private class ResultObserver implements ClientResponseObserver<Kubemq.Event, Kubemq.Result> {
+
+        private ClientCallStreamObserver<Kubemq.Event> requestStream;
+
+        @Override
+        public void beforeStart(ClientCallStreamObserver<Kubemq.Event> requestStream) {
+            this.requestStream = requestStream;
+            stream = requestStream;
+            requestStream.setOnReadyHandler(() -> {
+                synchronized (readyLock) {
+                    readyLock.notifyAll();
+                }
+            });
+        }
+
+        @Override
+        public void onNext(Kubemq.Result value) {
+            if (!value.getSent()) {
+                logger.warn("Event '{}' was not sent: {}", value.getEventID(), value.getError());
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            logger.warn("Events stream of channel '{}' closed with error: {}", channelName, t.getMessage());
+            closed();
+        }
+
+        @Override
+        public void onCompleted() {
+            closed();
+        }
+
+        private void closed() {
+            synchronized (readyLock) {
+                if (stream == requestStream) {
+                    stream = null;
+                    reconnectAt = System.nanoTime() + RECONNECT_DELAY_NANOS;
+                }
+                readyLock.notifyAll();
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 KubeMQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.kubemq.sdk.event;
+
+import io.grpc.stub.StreamObserver;
+
+import java.util.List;
+
+/**
+ * Handler of a catch-up subscription, receiving the replayed events of an EventsStore channel in batches
+ * until the subscription reaches the head of the channel, then the live events one by one through {@code onNext}.
+ */
+public interface CatchUpHandler extends StreamObserver<EventReceive> {
+
+    /**
+     * Handle a batch of replayed events, in sequence order.
+     *
+     * @param events   The replayed events.
+     * @param progress Progress of the replay once the batch is handled.
+     */
+    void onBatch(List<EventReceive> events, CatchUpProgress progress);
+
+    /**
+     * Called once the replay reached the head of the channel, before the first live event.
+     *
+     * @param progress Progress of the replay.
+     */
+    default void onCaughtUp(CatchUpProgress progress) {
+    }
+}
@@ -0,0 +1,372 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 KubeMQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.kubemq.sdk.event;
+
+import io.kubemq.sdk.grpc.Kubemq;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import io.grpc.stub.StreamObserver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delivers the events of a catch-up subscription: replayed events are collected into batches
+ * until the replay reaches the head of the channel, then events are delivered one by one.
+ * The head is tracked by a probe subscription starting from the last stored event, which stays open until caught up.
+ * A probe receiving no event within its window finds the channel empty, and the subscription is caught up at once
+ * unless events were replayed meanwhile. Events at or below the last delivered sequence are dropped,
+ * so the switch to live delivery neither replays nor skips events.
+ * <p>
+ * The handler is called on the subscription's delivery thread, or on the catch-up thread shared by the catch-up
+ * subscriptions for the batches flushed by the linger timer and when the probe finds the replay caught up.
+ * Handler calls are serialized, and the lock guarding the replay state is never held while calling it.
+ */
+final class CatchUpObserver implements StreamObserver<EventReceive> {
+
+    private static Logger logger = LoggerFactory.getLogger(CatchUpObserver.class);
+
+    private static final ScheduledThreadPoolExecutor scheduler = newScheduler();
+
+    private final CatchUpHandler handler;
+    private final int maxBatchSize;
+    private final long lingerMillis;
+    private final long probeWindowMillis;
+    private final HeadProbe headProbe = new HeadProbe();
+    // Held while calling the handler, so that its calls are serialized and in order
+    private final Object deliveryLock = new Object();
+    private final Object lock = new Object();
+
+    private List<EventReceive> batch;
+    private ScheduledFuture<?> lingerTask;
+    private ScheduledFuture<?> probeWindowTask;
+    private long sequence;
+    private long headSequence;
+    // The probe observed the head, or found the channel empty
+    private boolean headKnown;
+    private long replayedEvents;
+    private boolean live;
+    private boolean ended;
+
+    /**
+     * @param handler      Handler of the replayed batches and live events.
+     * @param maxBatchSize Maximum number of replayed events in a batch.
+     * @param lingerMillis Maximum time a replayed event waits for its batch to fill (Milliseconds).
+     * @param probeWindowMillis Time the head probe waits for the last stored event before taking the channel as empty (Milliseconds).
+     */
+    CatchUpObserver(CatchUpHandler handler, int maxBatchSize, long lingerMillis, long probeWindowMillis) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Parameter maxBatchSize must be positive");
+        }
+        this.handler = handler;
+        this.maxBatchSize = maxBatchSize;
+        this.lingerMillis = lingerMillis;
+        this.probeWindowMillis = probeWindowMillis;
+        this.batch = new ArrayList<>(maxBatchSize);
+    }
+
+    /**
+     * @return Observer of the probe subscription tracking the head of the channel.
+     */
+    ClientResponseObserver<Kubemq.Subscribe, Kubemq.EventReceive> getHeadProbe() {
+        return headProbe;
+    }
+
+    @Override
+    public void onNext(EventReceive event) {
+        synchronized (deliveryLock) {
+            boolean replayed;
+            boolean caughtUp = false;
+            List<EventReceive> events = null;
+            CatchUpProgress progress = null;
+            synchronized (lock) {
+                long eventSequence = event.getSequence();
+                if (ended || (eventSequence != 0 && eventSequence <= sequence)) {
+                    return;
+                }
+                sequence = eventSequence;
+                replayed = !live;
+                if (replayed) {
+                    batch.add(event);
+                    replayedEvents++;
+                    caughtUp = headSequence != 0 && sequence >= headSequence;
+                    if (caughtUp || batch.size() >= maxBatchSize) {
+                        events = takeBatch();
+                        progress = progress();
+                        live = caughtUp;
+                    } else if (lingerTask == null) {
+                        lingerTask = scheduler.schedule(this::lingerElapsed, lingerMillis, TimeUnit.MILLISECONDS);
+                    }
+                }
+            }
+            if (!replayed) {
+                handler.onNext(event);
+                return;
+            }
+            if (events != null) {
+                handler.onBatch(events, progress);
+            }
+            if (caughtUp) {
+                caughtUp(progress);
+            }
+        }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        synchronized (deliveryLock) {
+            if (end()) {
+                handler.onError(t);
+            }
+        }
+    }
+
+    @Override
+    public void onCompleted() {
+        synchronized (deliveryLock) {
+            if (end()) {
+                handler.onCompleted();
+            }
+        }
+    }
+
+    /**
+     * Flush the replayed events and stop the probe, once the subscription ends. Called holding the delivery lock.
+     *
+     * @return true if the subscription was not ended before.
+     */
+    private boolean end() {
+        List<EventReceive> events;
+        CatchUpProgress progress;
+        synchronized (lock) {
+            if (ended) {
+                return false;
+            }
+            ended = true;
+            events = takeBatch();
+            progress = progress();
+        }
+        headProbe.cancel();
+        if (events != null) {
+            try {
+                handler.onBatch(events, progress);
+            } catch (RuntimeException e) {
+                logger.error("Catch-up handler failed on the last batch: {}", e.getMessage());
+            }
+        }
+        return true;
+    }
+
+    private void lingerElapsed() {
+        synchronized (deliveryLock) {
+            List<EventReceive> events;
+            CatchUpProgress progress;
+            synchronized (lock) {
+                lingerTask = null;
+                if (ended || live) {
+                    return;
+                }
+                events = takeBatch();
+                progress = progress();
+            }
+            if (events == null) {
+                return;
+            }
+            try {
+                handler.onBatch(events, progress);
+            } catch (RuntimeException e) {
+                logger.error("Catch-up handler failed on a batch: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void headObserved(long observed) {
+        synchronized (lock) {
+            if (observed <= headSequence) {
+                return;
+            }
+            headSequence = observed;
+            headKnown = true;
+            if (live || ended || sequence == 0 || sequence < headSequence) {
+                return;
+            }
+        }
+        // The replay is waiting on the head: flush it off the probe's thread
+        goLive(null);
+    }
+
+    /**
+     * The probe received no event within its window: the channel is empty, unless the replay delivered events meanwhile.
+     */
+    private void probeWindowElapsed() {
+        synchronized (lock) {
+            probeWindowTask = null;
+            if (live || ended || headSequence != 0 || sequence != 0) {
+                return;
+            }
+            headKnown = true;
+        }
+        goLive(null);
+    }
+
+    private void probeFailed(Throwable t) {
+        synchronized (lock) {
+            if (live || ended) {
+                return;
+            }
+        }
+        goLive(t);
+    }
+
+    /**
+     * Flush the replayed events and switch to live delivery on the catch-up thread.
+     *
+     * @param probeError Error of the probe, null if the replay caught up with the head.
+     */
+    private void goLive(Throwable probeError) {
+        scheduler.execute(() -> {
+            synchronized (deliveryLock) {
+                List<EventReceive> events;
+                CatchUpProgress progress;
+                synchronized (lock) {
+                    if (live || ended) {
+                        return;
+                    }
+                    live = true;
+                    events = takeBatch();
+                    progress = progress();
+                }
+                if (probeError != null) {
+                    // Without the head the replay can not tell when it caught up, fall back to live delivery
+                    logger.warn("Catch-up head probe failed, switching to live delivery: {}", probeError.getMessage());
+                }
+                try {
+                    if (events != null) {
+                        handler.onBatch(events, progress);
+                    }
+                    caughtUp(progress);
+                } catch (RuntimeException e) {
+                    logger.error("Catch-up handler failed on a batch: {}", e.getMessage());
+                }
+            }
+        });
+    }
+
+    /**
+     * Take the replayed events collected so far, null if there is none. Called holding the lock.
+     */
+    private List<EventReceive> takeBatch() {
+        if (lingerTask != null) {
+            lingerTask.cancel(false);
+            lingerTask = null;
+        }
+        if (batch.isEmpty()) {
+            return null;
+        }
+        List<EventReceive> events = batch;
+        batch = new ArrayList<>(maxBatchSize);
+        return events;
+    }
+
+    /**
+     * Stop the probe and notify the handler. Called holding the delivery lock, once live.
+     */
+    private void caughtUp(CatchUpProgress progress) {
+        headProbe.cancel();
+        handler.onCaughtUp(progress);
+    }
+
+    private CatchUpProgress progress() {
+        return new CatchUpProgress(sequence, headSequence, headKnown, replayedEvents);
+    }
+
+    private static ScheduledThreadPoolExecutor newScheduler() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "kubemq-catch-up");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+
+    private class HeadProbe implements ClientResponseObserver<Kubemq.Subscribe, Kubemq.EventReceive> {
+
+        private volatile ClientCallStreamObserver<Kubemq.Subscribe> requestStream;
+        private volatile boolean cancelled;
+
+        @Override
+        public void beforeStart(ClientCallStreamObserver<Kubemq.Subscribe> requestStream) {
+            this.requestStream = requestStream;
+            synchronized (lock) {
+                if (!live && !ended) {
+                    probeWindowTask = scheduler.schedule(CatchUpObserver.this::probeWindowElapsed, probeWindowMillis, TimeUnit.MILLISECONDS);
+                }
+            }
+        }
+
+        @Override
+        public void onNext(Kubemq.EventReceive messageReceive) {
+            if (cancelled) {
+                // Cancelled before the call started
+                cancel();
+                return;
+            }
+            headObserved(messageReceive.getSequence());
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!cancelled) {
+                probeFailed(t);
+            }
+        }
+
+        @Override
+        public void onCompleted() {
+            if (!cancelled) {
+                probeFailed(new IllegalStateException("Head probe stream completed"));
+            }
+        }
+
+        void cancel() {
+            cancelled = true;
+            synchronized (lock) {
+                if (probeWindowTask != null) {
+                    probeWindowTask.cancel(false);
+                    probeWindowTask = null;
+                }
+            }
+            ClientCallStreamObserver<Kubemq.Subscribe> stream = requestStream;
+            if (stream != null) {
+                stream.cancel("Caught up", null);
+            }
+        }
+    }
+}
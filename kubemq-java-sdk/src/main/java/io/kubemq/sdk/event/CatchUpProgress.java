@@ -0,0 +1,73 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 KubeMQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.kubemq.sdk.event;
+
+/**
+ * Progress of a catch-up subscription replaying an EventsStore channel.
+ */
+public final class CatchUpProgress {
+
+    private final long sequence;
+    private final long headSequence;
+    private final boolean headKnown;
+    private final long replayedEvents;
+
+    CatchUpProgress(long sequence, long headSequence, boolean headKnown, long replayedEvents) {
+        this.sequence = sequence;
+        this.headSequence = headSequence;
+        this.headKnown = headKnown;
+        this.replayedEvents = replayedEvents;
+    }
+
+    /**
+     * @return Sequence of the last replayed event.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * @return Sequence of the last event stored in the channel, 0 while not known yet or when the channel was empty.
+     */
+    public long getHeadSequence() {
+        return headSequence;
+    }
+
+    /**
+     * @return Number of events left to replay, -1 while the head of the channel is not known yet.
+     */
+    public long getLag() {
+        if (!headKnown) {
+            return -1;
+        }
+        return Math.max(0, headSequence - sequence);
+    }
+
+    /**
+     * @return Number of events replayed so far.
+     */
+    public long getReplayedEvents() {
+        return replayedEvents;
+    }
+}
@@ -23,13 +23,19 @@
  */
 package io.kubemq.sdk.event;
 
+import io.kubemq.sdk.basic.ClientOptions;
 import io.kubemq.sdk.basic.ServerAddressNotSuppliedException;
 import io.kubemq.sdk.event.lowlevel.Sender;
+import io.kubemq.sdk.grpc.Kubemq;
 import io.kubemq.sdk.grpc.Kubemq.PingResult;
+import io.kubemq.sdk.tools.IDGenerator;
 import io.grpc.stub.StreamObserver;
 import org.apache.commons.lang3.StringUtils;
 
 import javax.net.ssl.SSLException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Represents a Sender with predefined parameters.
@@ -43,12 +49,18 @@ public class Channel {
     private boolean store;
     private boolean returnResult;
 
+    /**
+     * Wire event holding the channel name, client ID and store flag shared by every event sent on this channel.
+     */
+    private volatile Kubemq.Event prototype;
+
     public Channel(ChannelParameters parameters) {
         this(
                 parameters.getChannelName(),
                 parameters.getClientID(),
                 parameters.isStore(),
-                parameters.getKubeMQAddress()
+                parameters.getKubeMQAddress(),
+                parameters.getClientOptions()
         );
     }
 
@@ -61,13 +73,27 @@ public class Channel {
      * @param kubeMQAddress Represents The address of the KubeMQ server.
      */
     public Channel(String channelName, String clientID, boolean store, String kubeMQAddress) {
+        this(channelName, clientID, store, kubeMQAddress, null);
+    }
+
+    /**
+     * Initializes a new instance of the MessageChannel class using a set of parameters.
+     *
+     * @param channelName   Represents The channel name to send to using the KubeMQ.
+     * @param clientID      Represents the sender ID that the messages will be send under.
+     * @param store         Represents if the messages should be set to persistence.
+     * @param kubeMQAddress Represents The address of the KubeMQ server.
+     * @param clientOptions Represents the KubeMQ connection and transport options.
+     */
+    public Channel(String channelName, String clientID, boolean store, String kubeMQAddress, ClientOptions clientOptions) {
         this.channelName = channelName;
         this.clientID = clientID;
         this.store = store;
 
         isValid();
+        buildPrototype();
 
-        sender = new Sender(kubeMQAddress);
+        sender = new Sender(kubeMQAddress, clientOptions);
     }
 
     /**
@@ -79,11 +105,49 @@ public class Channel {
      * @throws SSLException                      Indicates some kind of error detected by an SSL subsystem.
      */
     public Result SendEvent(Event event) throws ServerAddressNotSuppliedException, SSLException {
-        return sender.SendEvent(CreateLowLevelEvent(event));
+        return sender.SendEvent(ToInnerEvent(event));
     }
 
+    /**
+     * Send a single message using the KubeMQ.
+     *
+     * @param event        The io.kubemq.sdk.pubsub.Event to send using KubeMQ.
+     * @param returnResult Has no effect, the flag is not part of the event sent to the server.
+     * @return io.kubemq.sdk.event.MessageDeliveryReport that contain info regarding message status.
+     * @throws ServerAddressNotSuppliedException KubeMQ server address can not be determined.
+     * @throws SSLException                      Indicates some kind of error detected by an SSL subsystem.
+     * @deprecated returnResult has no effect, use {@link #SendEvent(Event)}.
+     */
+    @Deprecated
     public Result SendEvent(Event event, boolean returnResult) throws ServerAddressNotSuppliedException, SSLException {
-        return sender.SendEvent(CreateLowLevelEvent(event, returnResult));
+        return SendEvent(event);
+    }
+
+    /**
+     * Send a single message without waiting for its delivery report.
+     * Many events can be in flight at once, each future completes when the server reports the event's result.
+     *
+     * @param event The io.kubemq.sdk.pubsub.Event to send using KubeMQ.
+     * @return Future completed with the io.kubemq.sdk.event.Result of the event.
+     * @throws ServerAddressNotSuppliedException KubeMQ server address can not be determined.
+     * @throws SSLException                      Indicates some kind of error detected by an SSL subsystem.
+     */
+    public CompletableFuture<Result> SendEventAsync(Event event) throws ServerAddressNotSuppliedException, SSLException {
+        return sender.SendEventAsync(ToInnerEvent(event), Sender.DEFAULT_RESULT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Send a single message without waiting for its delivery report.
+     *
+     * @param event   The io.kubemq.sdk.pubsub.Event to send using KubeMQ.
+     * @param timeout Maximum time to wait for the delivery report, after which the future fails with a TimeoutException.
+     * @param unit    Time unit of the timeout.
+     * @return Future completed with the io.kubemq.sdk.event.Result of the event.
+     * @throws ServerAddressNotSuppliedException KubeMQ server address can not be determined.
+     * @throws SSLException                      Indicates some kind of error detected by an SSL subsystem.
+     */
+    public CompletableFuture<Result> SendEventAsync(Event event, long timeout, TimeUnit unit) throws ServerAddressNotSuppliedException, SSLException {
+        return sender.SendEventAsync(ToInnerEvent(event), timeout, unit);
     }
 
     /**
@@ -95,12 +159,12 @@ public class Channel {
      * @throws SSLException                      Indicates some kind of error detected by an SSL subsystem.
      */
     public StreamObserver<Event> StreamEvent(final StreamObserver<Result> messageDeliveryReportStreamObserver) throws ServerAddressNotSuppliedException, SSLException {
-        StreamObserver<io.kubemq.sdk.event.lowlevel.Event> observer = sender.StreamEvent(messageDeliveryReportStreamObserver);
+        StreamObserver<Kubemq.Event> observer = sender.StreamInnerEvent(messageDeliveryReportStreamObserver);
         return new StreamObserver<Event>() {
 
             @Override
             public void onNext(Event value) {
-                observer.onNext(CreateLowLevelEvent(value));
+                observer.onNext(ToInnerEvent(value));
             }
 
             @Override
@@ -119,30 +183,15 @@ public class Channel {
      * Publish constant stream of messages.
      *
      * @param messageDeliveryReportStreamObserver Observer for Delivery Reports.
-     * @param returnResult                        Represents if the end user does not need the Result.
+     * @param returnResult                        Has no effect, the flag is not part of the events sent to the server.
      * @return StreamObserver used to stream messages
      * @throws ServerAddressNotSuppliedException KubeMQ server address can not be determined.
      * @throws SSLException                      Indicates some kind of error detected by an SSL subsystem.
+     * @deprecated returnResult has no effect, use {@link #StreamEvent(StreamObserver)}.
      */
+    @Deprecated
     public StreamObserver<Event> StreamEvent(final StreamObserver<Result> messageDeliveryReportStreamObserver, boolean returnResult) throws ServerAddressNotSuppliedException, SSLException {
-        StreamObserver<io.kubemq.sdk.event.lowlevel.Event> observer = sender.StreamEvent(messageDeliveryReportStreamObserver);
-        return new StreamObserver<Event>() {
-
-            @Override
-            public void onNext(Event value) {
-                observer.onNext(CreateLowLevelEvent(value, returnResult));
-            }
-
-            @Override
-            public void onError(Throwable t) {
-                observer.onError(t);
-            }
-
-            @Override
-            public void onCompleted() {
-                observer.onCompleted();
-            }
-        };
+        return StreamEvent(messageDeliveryReportStreamObserver);
     }
 
    /**
@@ -164,23 +213,30 @@ public class Channel {
         }
     }
 
-    private io.kubemq.sdk.event.lowlevel.Event CreateLowLevelEvent(Event notification) {
-        return new io.kubemq.sdk.event.lowlevel.Event(
-                getChannelName(),
-                notification.getMetadata(),
-                notification.getBody(),
-                notification.getEventId(),
-                getClientID(),              
-                isStore(),
-                notification.getTags()
-        );
+    /**
+     * Convert an event to its wire form, setting only its own fields on top of the channel prototype.
+     */
+    private Kubemq.Event ToInnerEvent(Event notification) {
+        Kubemq.Event.Builder builder = prototype.toBuilder()
+                .setEventID(StringUtils.isEmpty(notification.getEventId())
+                        ? IDGenerator.Getid()
+                        : notification.getEventId())
+                .setBody(notification.getBodyAsByteString());
+        if (notification.getMetadata() != null) {
+            builder.setMetadata(notification.getMetadata());
+        }
+        if (notification.getTags() != null) {
+            builder.putAllTags(notification.getTags());
+        }
+        return builder.build();
     }
 
-
-    private io.kubemq.sdk.event.lowlevel.Event CreateLowLevelEvent(Event notification, boolean returnResult) {
-        io.kubemq.sdk.event.lowlevel.Event event = CreateLowLevelEvent(notification);
-        event.setReturnResult(returnResult);
-        return event;
+    private void buildPrototype() {
+        prototype = Kubemq.Event.newBuilder()
+                .setChannel(channelName)
+                .setClientID(Optional.ofNullable(clientID).orElse(""))
+                .setStore(store)
+                .build();
     }
 
     public String getChannelName() {
@@ -189,6 +245,7 @@ public class Channel {
 
     public void setChannelName(String channelName) {
         this.channelName = channelName;
+        buildPrototype();
     }
 
     public String getClientID() {
@@ -197,6 +254,7 @@ public class Channel {
 
     public void setClientID(String clientID) {
         this.clientID = clientID;
+        buildPrototype();
     }
 
     public boolean isStore() {
@@ -205,6 +263,7 @@ public class Channel {
 
     public void setStore(boolean store) {
         this.store = store;
+        buildPrototype();
     }
 
     public boolean isReturnResult() {
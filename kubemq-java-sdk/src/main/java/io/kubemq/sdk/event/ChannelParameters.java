@@ -23,6 +23,8 @@
  */
 package io.kubemq.sdk.event;
 
+import io.kubemq.sdk.basic.ClientOptions;
+
 public class ChannelParameters {
 
     /**
@@ -50,6 +52,11 @@ public class ChannelParameters {
      */
     private String kubeMQAddress;
 
+    /**
+     * KubeMQ connection and transport options.
+     */
+    private ClientOptions clientOptions;
+
     public ChannelParameters() {
     }
 
@@ -100,4 +107,12 @@ public class ChannelParameters {
         this.kubeMQAddress = kubeMQAddress;
     }
 
+    public ClientOptions getClientOptions() {
+        return clientOptions;
+    }
+
+    public void setClientOptions(ClientOptions clientOptions) {
+        this.clientOptions = clientOptions;
+    }
+
 }
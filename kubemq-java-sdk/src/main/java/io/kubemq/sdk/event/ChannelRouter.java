@@ -0,0 +1,316 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 KubeMQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.kubemq.sdk.event;
+
+import io.grpc.stub.StreamObserver;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Routes the events of a wildcard subscription to the handlers registered for their channel.
+ * Channel names are '.' separated segments; patterns may use {@code *} to match exactly one segment,
+ * and {@code >} as last segment to match one or more trailing segments, as in {@code prices.*.eur} or {@code orders.>}.
+ * <p>
+ * Patterns are compiled into a segment trie, rebuilt whenever a handler is registered or closed.
+ * The handlers matching a channel are cached per channel name, so dispatching the events of a known channel
+ * is a map lookup and does not allocate. Handlers are called in registration order, on the delivering thread.
+ */
+public class ChannelRouter implements StreamObserver<EventReceive> {
+
+    private static Logger logger = LoggerFactory.getLogger(ChannelRouter.class);
+
+    private static final int DEFAULT_MAX_CACHED_CHANNELS = 10000;
+
+    private static final List<StreamObserver<EventReceive>> NO_HANDLERS = Collections.emptyList();
+
+    private final int maxCachedChannels;
+    private final Map<Long, Registration> registrations = new TreeMap<>();
+    private final AtomicLong unmatchedEvents = new AtomicLong();
+    private long nextId;
+    private volatile Routes routes = new Routes(new Node(), 0);
+
+    /**
+     * Initializes a new ChannelRouter caching the handlers of up to 10000 channels.
+     */
+    public ChannelRouter() {
+        this(DEFAULT_MAX_CACHED_CHANNELS);
+    }
+
+    /**
+     * Initializes a new ChannelRouter.
+     *
+     * @param maxCachedChannels Maximum number of channels whose handlers are cached.
+     */
+    public ChannelRouter(int maxCachedChannels) {
+        this.maxCachedChannels = maxCachedChannels;
+    }
+
+    /**
+     * Register a handler for the events of the channels matching the pattern.
+     *
+     * @param pattern Channel name, or pattern using the {@code *} and {@code >} wildcards.
+     * @param handler Handler of the events, also called when the subscription ends.
+     * @return Registration of the handler, closing it unregisters the handler.
+     */
+    public synchronized Registration Register(String pattern, StreamObserver<EventReceive> handler) {
+        String[] segments = parsePattern(pattern);
+        Registration registration = new Registration(nextId++, pattern, segments, handler);
+        registrations.put(registration.id, registration);
+        rebuild();
+        return registration;
+    }
+
+    /**
+     * @return Number of channels whose handlers are cached.
+     */
+    public int getCachedChannels() {
+        return routes.cache.size();
+    }
+
+    /**
+     * @return Number of events whose channel matched no handler.
+     */
+    public long getUnmatchedEvents() {
+        return unmatchedEvents.get();
+    }
+
+    @Override
+    public void onNext(EventReceive event) {
+        List<StreamObserver<EventReceive>> handlers = routes.handlersOf(event.getChannel());
+        if (handlers.isEmpty()) {
+            unmatchedEvents.incrementAndGet();
+            return;
+        }
+        for (StreamObserver<EventReceive> handler : handlers) {
+            try {
+                handler.onNext(event);
+            } catch (RuntimeException e) {
+                logger.error("Handler of channel '{}' failed: {}", event.getChannel(), e.getMessage(), e);
+            }
+        }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        for (StreamObserver<EventReceive> handler : distinctHandlers()) {
+            try {
+                handler.onError(t);
+            } catch (RuntimeException e) {
+                logger.error("Handler failed on the subscription error: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    @Override
+    public void onCompleted() {
+        for (StreamObserver<EventReceive> handler : distinctHandlers()) {
+            try {
+                handler.onCompleted();
+            } catch (RuntimeException e) {
+                logger.error("Handler failed on the subscription completion: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private synchronized List<StreamObserver<EventReceive>> distinctHandlers() {
+        Set<StreamObserver<EventReceive>> handlers = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<StreamObserver<EventReceive>> ordered = new ArrayList<>();
+        for (Registration registration : registrations.values()) {
+            if (handlers.add(registration.handler)) {
+                ordered.add(registration.handler);
+            }
+        }
+        return ordered;
+    }
+
+    private synchronized void unregister(Registration registration) {
+        if (registrations.remove(registration.id) != null) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Compile the registered patterns into a new trie, published with an empty cache.
+     */
+    private void rebuild() {
+        Node root = new Node();
+        for (Registration registration : registrations.values()) {
+            Node node = root;
+            String[] segments = registration.segments;
+            for (int i = 0; i < segments.length; i++) {
+                String segment = segments[i];
+                if (segment.equals(">")) {
+                    node.trailing.add(registration);
+                    break;
+                }
+                if (segment.equals("*")) {
+                    if (node.any == null) {
+                        node.any = new Node();
+                    }
+                    node = node.any;
+                } else {
+                    node = node.children.computeIfAbsent(segment, s -> new Node());
+                }
+                if (i == segments.length - 1) {
+                    node.exact.add(registration);
+                }
+            }
+        }
+        routes = new Routes(root, maxCachedChannels);
+    }
+
+    private static String[] parsePattern(String pattern) {
+        if (StringUtils.isBlank(pattern)) {
+            throw new IllegalArgumentException("Parameter pattern is mandatory");
+        }
+        String[] segments = pattern.split("\\.", -1);
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            if (segment.isEmpty()) {
+                throw new IllegalArgumentException("Empty segment in channel pattern '" + pattern + "'");
+            }
+            if (segment.equals(">") && i != segments.length - 1) {
+                throw new IllegalArgumentException("Wildcard '>' must be the last segment of channel pattern '" + pattern + "'");
+            }
+            if (segment.length() > 1 && (segment.contains("*") || segment.contains(">"))) {
+                throw new IllegalArgumentException("Wildcards must be whole segments in channel pattern '" + pattern + "'");
+            }
+        }
+        return segments;
+    }
+
+    /**
+     * Compiled trie with the cache of its per channel handlers; replaced as a whole when the registrations change.
+     */
+    private static final class Routes {
+
+        private final Node root;
+        private final int maxCachedChannels;
+        private final ConcurrentHashMap<String, List<StreamObserver<EventReceive>>> cache = new ConcurrentHashMap<>();
+
+        private Routes(Node root, int maxCachedChannels) {
+            this.root = root;
+            this.maxCachedChannels = maxCachedChannels;
+        }
+
+        private List<StreamObserver<EventReceive>> handlersOf(String channel) {
+            List<StreamObserver<EventReceive>> handlers = cache.get(channel);
+            if (handlers != null) {
+                return handlers;
+            }
+            handlers = match(channel);
+            if (cache.size() < maxCachedChannels) {
+                cache.put(channel, handlers);
+            }
+            return handlers;
+        }
+
+        private List<StreamObserver<EventReceive>> match(String channel) {
+            if (channel == null || channel.isEmpty()) {
+                return NO_HANDLERS;
+            }
+            // Sorted by registration id, so handlers run in registration order and at most once
+            Map<Long, Registration> matched = new TreeMap<>();
+            root.collect(channel.split("\\.", -1), 0, matched);
+            if (matched.isEmpty()) {
+                return NO_HANDLERS;
+            }
+            List<StreamObserver<EventReceive>> handlers = new ArrayList<>(matched.size());
+            Set<StreamObserver<EventReceive>> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (Registration registration : matched.values()) {
+                if (seen.add(registration.handler)) {
+                    handlers.add(registration.handler);
+                }
+            }
+            return Collections.unmodifiableList(handlers);
+        }
+    }
+
+    private static final class Node {
+
+        private final Map<String, Node> children = new HashMap<>();
+        private final List<Registration> exact = new ArrayList<>();
+        private final List<Registration> trailing = new ArrayList<>();
+        private Node any;
+
+        private void collect(String[] segments, int index, Map<Long, Registration> matched) {
+            if (index == segments.length) {
+                for (Registration registration : exact) {
+                    matched.put(registration.id, registration);
+                }
+                return;
+            }
+            // '>' needs at least one more segment
+            for (Registration registration : trailing) {
+                matched.put(registration.id, registration);
+            }
+            Node child = children.get(segments[index]);
+            if (child != null) {
+                child.collect(segments, index + 1, matched);
+            }
+            if (any != null) {
+                any.collect(segments, index + 1, matched);
+            }
+        }
+    }
+
+    /**
+     * Registration of a handler, closing it unregisters the handler without ending it.
+     */
+    public final class Registration implements AutoCloseable {
+
+        private final long id;
+        private final String pattern;
+        private final String[] segments;
+        private final StreamObserver<EventReceive> handler;
+
+        private Registration(long id, String pattern, String[] segments, StreamObserver<EventReceive> handler) {
+            this.id = id;
+            this.pattern = pattern;
+            this.segments = segments;
+            this.handler = handler;
+        }
+
+        public String getPattern() {
+            return pattern;
+        }
+
+        @Override
+        public void close() {
+            unregister(this);
+        }
+    }
+}
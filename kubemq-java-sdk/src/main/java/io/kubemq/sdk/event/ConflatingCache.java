@@ -0,0 +1,244 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 KubeMQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.kubemq.sdk.event;
+
+import io.grpc.stub.StreamObserver;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Latest event per key of a subscription, for channels where only the newest value of each entity matters.
+ * Every event replaces the previous event of its key and gets a new version, so readers falling behind
+ * skip the intermediate updates instead of queueing them.
+ * <p>
+ * Reads of a single key are lock free. Snapshots are consistent: they hold the latest events
+ * as of their version. They are copied optimistically while events keep being received,
+ * and only block delivery when events arrive faster than the copy completes.
+ */
+public class ConflatingCache implements AutoCloseable {
+
+    private static final int OPTIMISTIC_ATTEMPTS = 3;
+
+    private final EventKeyExtractor keyExtractor;
+    private final Map<String, Entry> latest = new ConcurrentHashMap<>();
+    private final StampedLock lock = new StampedLock();
+    private final Receiver receiver = new Receiver();
+    private final AtomicLong receivedEvents = new AtomicLong();
+    private volatile long version;
+    private volatile Throwable error;
+    private volatile boolean ended;
+    private Subscription subscription;
+
+    /**
+     * @param keyExtractor Extracts the key of the events, events without key are ignored.
+     */
+    ConflatingCache(EventKeyExtractor keyExtractor) {
+        this.keyExtractor = keyExtractor;
+    }
+
+    StreamObserver<EventReceive> getReceiver() {
+        return receiver;
+    }
+
+    void setSubscription(Subscription subscription) {
+        this.subscription = subscription;
+    }
+
+    /**
+     * @param key Key of the events.
+     * @return Latest event received for the key, null if none was.
+     */
+    public EventReceive get(String key) {
+        Entry entry = latest.get(key);
+        return entry == null ? null : entry.event;
+    }
+
+    /**
+     * @return Latest event of every key, as of the snapshot version.
+     */
+    public ConflatedEvents snapshot() {
+        return changedSince(0);
+    }
+
+    /**
+     * Get the latest event of the keys that changed after {@code sinceVersion}.
+     * Passing the version of the returned events to the next call drains the changes incrementally.
+     *
+     * @param sinceVersion Version of the previous read, 0 for every key.
+     * @return Latest event of the changed keys, as of the returned version.
+     */
+    public ConflatedEvents changedSince(long sinceVersion) {
+        for (int attempt = 0; attempt < OPTIMISTIC_ATTEMPTS; attempt++) {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp == 0) {
+                continue;
+            }
+            ConflatedEvents events = copy(sinceVersion);
+            if (lock.validate(stamp)) {
+                return events;
+            }
+        }
+        long stamp = lock.readLock();
+        try {
+            return copy(sinceVersion);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * @return Version of the latest event received, 0 before the first one.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return Number of keys.
+     */
+    public int size() {
+        return latest.size();
+    }
+
+    /**
+     * @return Number of events received, including the ones since replaced.
+     */
+    public long getReceivedEvents() {
+        return receivedEvents.get();
+    }
+
+    /**
+     * @return true once the subscription ended, after close or when it gave up reconnecting.
+     */
+    public boolean isEnded() {
+        return ended;
+    }
+
+    /**
+     * @return The error that ended the subscription, null if none did.
+     */
+    public Throwable getError() {
+        return error;
+    }
+
+    public Subscription getSubscription() {
+        return subscription;
+    }
+
+    /**
+     * Close the subscription. The events received so far stay readable.
+     */
+    @Override
+    public void close() {
+        subscription.close();
+    }
+
+    private ConflatedEvents copy(long sinceVersion) {
+        long current = version;
+        Map<String, EventReceive> events = new HashMap<>();
+        for (Map.Entry<String, Entry> item : latest.entrySet()) {
+            Entry entry = item.getValue();
+            if (entry.version > sinceVersion) {
+                events.put(item.getKey(), entry.event);
+            }
+        }
+        return new ConflatedEvents(current, Collections.unmodifiableMap(events));
+    }
+
+    private static final class Entry {
+
+        private final EventReceive event;
+        private final long version;
+
+        private Entry(EventReceive event, long version) {
+            this.event = event;
+            this.version = version;
+        }
+    }
+
+    /**
+     * Latest events of a set of keys, as of a version.
+     */
+    public static final class ConflatedEvents {
+
+        private final long version;
+        private final Map<String, EventReceive> events;
+
+        private ConflatedEvents(long version, Map<String, EventReceive> events) {
+            this.version = version;
+            this.events = events;
+        }
+
+        /**
+         * @return Version the events are the latest as of, to pass to the next {@code changedSince}.
+         */
+        public long getVersion() {
+            return version;
+        }
+
+        /**
+         * @return Latest event per key.
+         */
+        public Map<String, EventReceive> getEvents() {
+            return events;
+        }
+    }
+
+    private class Receiver implements StreamObserver<EventReceive> {
+
+        @Override
+        public void onNext(EventReceive event) {
+            receivedEvents.incrementAndGet();
+            String key = keyExtractor.keyOf(event);
+            if (key == null) {
+                return;
+            }
+            // Events are delivered one at a time, the lock only fences the snapshots
+            long stamp = lock.writeLock();
+            try {
+                long next = version + 1;
+                latest.put(key, new Entry(event, next));
+                version = next;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            error = t;
+            ended = true;
+        }
+
+        @Override
+        public void onCompleted() {
+            ended = true;
+        }
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 KubeMQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.kubemq.sdk.event;
+
+import io.kubemq.sdk.grpc.Kubemq;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded buffer between the gRPC thread receiving the events of a subscription and the thread delivering them.
+ * Events are kept in their wire form, they are converted when delivered.
+ * With a shedding policy, events offered to a full buffer are shed as the policy decides instead of being refused.
+ */
+final class DeliveryBuffer {
+
+    /**
+     * A buffered event, or the terminal signal of the subscription when {@code message} is null.
+     */
+    static final class Entry {
+
+        final Kubemq.EventReceive message;
+        final Runnable onDelivered;
+        final Throwable error;
+        final int priority;
+
+        Entry(Kubemq.EventReceive message, Runnable onDelivered, int priority) {
+            this.message = message;
+            this.onDelivered = onDelivered;
+            this.error = null;
+            this.priority = priority;
+        }
+
+        Entry(Throwable error) {
+            this.message = null;
+            this.onDelivered = null;
+            this.error = error;
+            this.priority = 0;
+        }
+
+        boolean isTerminal() {
+            return message == null;
+        }
+    }
+
+    private final ArrayDeque<Entry> entries = new ArrayDeque<>();
+    private final int capacity;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final SheddingPolicy sheddingPolicy;
+    private long shedEvents;
+    private long sampled;
+
+    DeliveryBuffer(int capacity) {
+        this(capacity, null);
+    }
+
+    /**
+     * @param sheddingPolicy Policy shedding events when the buffer is full, null to refuse them.
+     */
+    DeliveryBuffer(int capacity, SheddingPolicy sheddingPolicy) {
+        this.capacity = capacity;
+        this.sheddingPolicy = sheddingPolicy;
+    }
+
+    /**
+     * Add an event. When the buffer is full the event is refused, or an event is shed with a shedding policy.
+     *
+     * @return false if the event was refused.
+     */
+    boolean offer(Kubemq.EventReceive message, Runnable onDelivered) {
+        lock.lock();
+        try {
+            if (sheddingPolicy != null) {
+                shed(message, onDelivered);
+                return true;
+            }
+            if (entries.size() >= capacity) {
+                return false;
+            }
+            entries.addLast(new Entry(message, onDelivered, 0));
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return Number of events shed by the shedding policy.
+     */
+    long getShedEvents() {
+        lock.lock();
+        try {
+            return shedEvents;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void shed(Kubemq.EventReceive message, Runnable onDelivered) {
+        boolean full = entries.size() >= capacity;
+        Entry entry;
+        switch (sheddingPolicy.getKind()) {
+            case DROP_OLDEST:
+                if (full) {
+                    entries.pollFirst();
+                    shedEvents++;
+                }
+                entry = new Entry(message, onDelivered, 0);
+                break;
+            case SAMPLE:
+                if (full || (entries.size() * 2 > capacity && ++sampled % sheddingPolicy.getSampleRate() != 0)) {
+                    shedEvents++;
+                    return;
+                }
+                entry = new Entry(message, onDelivered, 0);
+                break;
+            case PRIORITY_BY_TAG:
+                entry = new Entry(message, onDelivered, priorityOf(message));
+                if (full && !evictLowerPriority(entry.priority)) {
+                    shedEvents++;
+                    return;
+                }
+                break;
+            default:
+                if (full) {
+                    shedEvents++;
+                    return;
+                }
+                entry = new Entry(message, onDelivered, 0);
+        }
+        entries.addLast(entry);
+        notEmpty.signal();
+    }
+
+    /**
+     * Remove the oldest buffered event of the lowest priority, if lower than {@code priority}.
+     *
+     * @return true if an event was removed.
+     */
+    private boolean evictLowerPriority(int priority) {
+        Entry lowest = null;
+        for (Entry entry : entries) {
+            if (!entry.isTerminal() && (lowest == null || entry.priority < lowest.priority)) {
+                lowest = entry;
+            }
+        }
+        if (lowest == null || lowest.priority >= priority) {
+            return false;
+        }
+        for (Iterator<Entry> iterator = entries.iterator(); iterator.hasNext(); ) {
+            if (iterator.next() == lowest) {
+                iterator.remove();
+                break;
+            }
+        }
+        shedEvents++;
+        return true;
+    }
+
+    private int priorityOf(Kubemq.EventReceive message) {
+        String value = message.getTagsOrDefault(sheddingPolicy.getPriorityTag(), null);
+        if (value == null) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Add the terminal signal, after the buffered events.
+     *
+     * @param error Error ending the subscription, null when it completed.
+     */
+    void terminate(Throwable error) {
+        lock.lock();
+        try {
+            entries.addLast(new Entry(error));
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drop the buffered events and add the terminal signal.
+     *
+     * @param error Error ending the subscription, null when it completed.
+     */
+    void terminateNow(Throwable error) {
+        lock.lock();
+        try {
+            entries.clear();
+            entries.addLast(new Entry(error));
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    Entry take() throws InterruptedException {
+        lock.lock();
+        try {
+            while (entries.isEmpty()) {
+                notEmpty.await();
+            }
+            return entries.pollFirst();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 KubeMQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.kubemq.sdk.event;
+
+/**
+ * Extracts the key of a received event, such as the entity it relates to.
+ * Events sharing a key are handled in order by the keyed dispatcher.
+ */
+public interface EventKeyExtractor {
+
+    /**
+     * @param event The received event.
+     * @return Key of the event, null if it has none.
+     */
+    String keyOf(EventReceive event);
+
+    /**
+     * @param tag Name of the tag holding the key.
+     * @return Extractor reading the key from a tag of the event.
+     */
+    static EventKeyExtractor byTag(String tag) {
+        return event -> event.getTag(tag);
+    }
+
+    /**
+     * @return Extractor using the metadata of the event as key.
+     */
+    static EventKeyExtractor byMetadata() {
+        return EventReceive::getMetadata;
+    }
+}
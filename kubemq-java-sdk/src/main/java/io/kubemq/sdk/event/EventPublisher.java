@@ -0,0 +1,130 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 KubeMQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.kubemq.sdk.event;
+
+import io.kubemq.sdk.basic.ServerAddressNotSuppliedException;
+import io.kubemq.sdk.subscription.SubscribeRequest;
+import io.grpc.stub.StreamObserver;
+import org.reactivestreams.Publisher;
+
+import javax.net.ssl.SSLException;
+import java.util.Objects;
+
+/**
+ * Reactive streams publisher of the events of a channel. Each subscriber gets its own subscription to the channel,
+ * asking the server for exactly the events it requested, so backpressure reaches the KubeMQ server
+ * without buffering in between. Events are signalled on the gRPC thread.
+ * <p>
+ * On Java 9 and later it can be exposed as a {@code java.util.concurrent.Flow.Publisher}
+ * with {@code org.reactivestreams.FlowAdapters.toFlowPublisher}.
+ */
+public class EventPublisher implements Publisher<EventReceive> {
+
+    private final Subscriber subscriber;
+    private final SubscribeRequest subscribeRequest;
+    private final SubscriptionOptions options;
+
+    EventPublisher(Subscriber subscriber, SubscribeRequest subscribeRequest, SubscriptionOptions options) {
+        this.subscriber = subscriber;
+        this.subscribeRequest = subscribeRequest;
+        this.options = options;
+    }
+
+    @Override
+    public void subscribe(org.reactivestreams.Subscriber<? super EventReceive> downstream) {
+        Objects.requireNonNull(downstream, "Subscriber can not be null");
+
+        Bridge bridge = new Bridge(downstream);
+        bridge.subscription = new Subscription(subscriber, subscribeRequest, bridge, options, true);
+        downstream.onSubscribe(bridge);
+        try {
+            bridge.subscription.Start();
+        } catch (ServerAddressNotSuppliedException | SSLException | RuntimeException e) {
+            bridge.subscription.close();
+            bridge.fail(e);
+        }
+    }
+
+    /**
+     * Reactive streams subscription over a demand driven subscription, relaying its events downstream.
+     */
+    private static final class Bridge implements org.reactivestreams.Subscription, StreamObserver<EventReceive> {
+
+        private final org.reactivestreams.Subscriber<? super EventReceive> downstream;
+        private Subscription subscription;
+        private volatile boolean done;
+
+        private Bridge(org.reactivestreams.Subscriber<? super EventReceive> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void request(long n) {
+            if (done) {
+                return;
+            }
+            if (n <= 0) {
+                cancel();
+                downstream.onError(new IllegalArgumentException("Requested events must be positive (rule 3.9), got " + n));
+                return;
+            }
+            subscription.request(n);
+        }
+
+        @Override
+        public void cancel() {
+            if (!done) {
+                done = true;
+                subscription.close();
+            }
+        }
+
+        @Override
+        public void onNext(EventReceive event) {
+            if (!done) {
+                downstream.onNext(event);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            fail(t);
+        }
+
+        @Override
+        public void onCompleted() {
+            if (!done) {
+                done = true;
+                downstream.onComplete();
+            }
+        }
+
+        private void fail(Throwable t) {
+            if (!done) {
+                done = true;
+                downstream.onError(t);
+            }
+        }
+    }
+}
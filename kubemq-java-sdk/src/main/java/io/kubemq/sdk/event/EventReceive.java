@@ -23,17 +23,32 @@
  */
 package io.kubemq.sdk.event;
 
+import com.google.protobuf.ByteString;
+import io.kubemq.sdk.tools.Converter;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 
 import io.kubemq.sdk.grpc.Kubemq;
 
+/**
+ * Event received from a subscription.
+ * A received event is a view over the message read from the wire: getters read from it directly,
+ * and the body is only copied into a byte array when getBody is called.
+ * Calling a setter detaches the event from the message, copying its fields.
+ */
 public class EventReceive {
 
+    /**
+     * Message read from the wire, null once detached.
+     */
+    private Kubemq.EventReceive inner;
+
     private String eventId;
     private String channel;
     private String metadata;
     private byte[] body;
+    private ByteString bodyBytes;
     private long timestamp;
     private long sequence;
 	private Map<String, String> tags;
@@ -42,71 +57,137 @@ public class EventReceive {
     }
 
     public EventReceive(Kubemq.EventReceive inner) {
-        eventId = inner.getEventID();
-        channel = inner.getChannel();
-        metadata = inner.getMetadata();
-        body = inner.getBody().toByteArray();
-        timestamp = inner.getTimestamp();
-        sequence = inner.getSequence();
-        tags = inner.getTagsMap();
+        this.inner = inner;
     }
 
     public String getEventId() {
-        return eventId;
+        return inner != null ? inner.getEventID() : eventId;
     }
 
     public void setEventId(String eventId) {
+        detach();
         this.eventId = eventId;
     }
 
     public String getChannel() {
-        return channel;
+        return inner != null ? inner.getChannel() : channel;
     }
 
     public void setChannel(String channel) {
+        detach();
         this.channel = channel;
     }
 
     public String getMetadata() {
-        return metadata;
+        return inner != null ? inner.getMetadata() : metadata;
     }
 
     public void setMetadata(String metadata) {
+        detach();
         this.metadata = metadata;
     }
 
+    /**
+     * @return The body, copied from the ByteString it was set or received as on first call.
+     */
     public byte[] getBody() {
+        body = Converter.BodyAsByteArray(body, inner != null ? inner.getBody() : bodyBytes);
         return body;
     }
 
     public void setBody(byte[] body) {
+        detach();
         this.body = body;
+        this.bodyBytes = null;
+    }
+
+    /**
+     * Set the body without copying it.
+     *
+     * @param body The body.
+     */
+    public void setBody(ByteString body) {
+        detach();
+        this.bodyBytes = body;
+        this.body = null;
+    }
+
+    /**
+     * Set the body without copying it, see {@link Converter#WrapUnsafe(ByteBuffer)}.
+     *
+     * @param body The body.
+     */
+    public void setBody(ByteBuffer body) {
+        setBody(Converter.WrapUnsafe(body));
+    }
+
+    public ByteString getBodyAsByteString() {
+        return inner != null ? inner.getBody() : Converter.BodyAsByteString(body, bodyBytes);
+    }
+
+    public ByteBuffer getBodyAsByteBuffer() {
+        return inner != null ? inner.getBody().asReadOnlyByteBuffer() : Converter.BodyAsByteBuffer(body, bodyBytes);
     }
 
     public long getTimestamp() {
-        return timestamp;
+        return inner != null ? inner.getTimestamp() : timestamp;
     }
 
     public void setTimestamp(long timestamp) {
+        detach();
         this.timestamp = timestamp;
     }
 
     public long getSequence() {
-        return sequence;
+        return inner != null ? inner.getSequence() : sequence;
     }
 
     public void setSequence(long sequence) {
+        detach();
         this.sequence = sequence;
     }
 
+    /**
+     * @return The tags, read only for a received event until a setter is called.
+     */
     public Map<String, String> getTags() {
-        return this.tags;
+        return inner != null ? inner.getTagsMap() : this.tags;
+    }
+
+    /**
+     * @param key Tag key.
+     * @return Value of the tag, null if the event does not have it.
+     */
+    public String getTag(String key) {
+        if (inner != null) {
+            return inner.getTagsOrDefault(key, null);
+        }
+        return tags == null ? null : tags.get(key);
     }
+
     public void setTag(String key, String value){
+        detach();
         if (tags==null){
             tags =  new HashMap<String,String>();
         }
         this.tags.putIfAbsent(key, value);
     }
 
+    /**
+     * Copy the fields of the received message, so they can be modified.
+     */
+    private void detach() {
+        if (inner == null) {
+            return;
+        }
+        eventId = inner.getEventID();
+        channel = inner.getChannel();
+        metadata = inner.getMetadata();
+        bodyBytes = inner.getBody();
+        timestamp = inner.getTimestamp();
+        sequence = inner.getSequence();
+        tags = new HashMap<>(inner.getTagsMap());
+        inner = null;
+    }
+
 }
@@ -0,0 +1,243 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 KubeMQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.kubemq.sdk.event;
+
+import io.grpc.stub.StreamObserver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Blocking, pull based view of an events subscription.
+ * The subscription stays open across reads, and the server is only asked for more events
+ * as they are consumed, so at most the prefetch of events are held in memory.
+ * An EventStream is meant to be read by a single thread.
+ */
+public class EventStream implements Iterator<EventReceive>, AutoCloseable {
+
+    private static final EventReceive END = new EventReceive();
+
+    private final BlockingQueue<EventReceive> queue;
+    private final Receiver receiver = new Receiver();
+    private Subscription subscription;
+    private EventReceive peeked;
+    private boolean finished;
+    private volatile boolean ended;
+    private volatile Throwable error;
+
+    EventStream(int capacity) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    StreamObserver<EventReceive> getReceiver() {
+        return receiver;
+    }
+
+    void setSubscription(Subscription subscription) {
+        this.subscription = subscription;
+    }
+
+    /**
+     * Wait for the next event.
+     *
+     * @return true if an event is available, false once the subscription completed.
+     * @throws RuntimeException the error that ended the subscription.
+     */
+    @Override
+    public boolean hasNext() {
+        if (peeked == null && !finished) {
+            try {
+                peeked = take(Long.MAX_VALUE);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the next event", e);
+            }
+        }
+        return peeked != null;
+    }
+
+    /**
+     * Wait for the next event.
+     *
+     * @return The next event.
+     * @throws NoSuchElementException once the subscription completed.
+     */
+    @Override
+    public EventReceive next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("The events subscription completed");
+        }
+        EventReceive event = peeked;
+        peeked = null;
+        return event;
+    }
+
+    /**
+     * Wait up to {@code timeout} for the next event.
+     *
+     * @param timeout Maximum time to wait.
+     * @param unit    Time unit of the timeout.
+     * @return The next event, null on timeout or once the subscription completed.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public EventReceive poll(long timeout, TimeUnit unit) throws InterruptedException {
+        if (peeked != null) {
+            EventReceive event = peeked;
+            peeked = null;
+            return event;
+        }
+        if (finished) {
+            return null;
+        }
+        return take(unit.toNanos(timeout));
+    }
+
+    /**
+     * Wait up to {@code timeout} for an event, then take up to {@code max} events without waiting further.
+     *
+     * @param max     Maximum number of events returned.
+     * @param timeout Maximum time to wait for the first event.
+     * @param unit    Time unit of the timeout.
+     * @return The events, empty on timeout or once the subscription completed.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public List<EventReceive> poll(int max, long timeout, TimeUnit unit) throws InterruptedException {
+        EventReceive first = poll(timeout, unit);
+        if (first == null) {
+            return Collections.emptyList();
+        }
+        List<EventReceive> events = new ArrayList<>(Math.min(max, queue.size() + 1));
+        events.add(first);
+        while (events.size() < max) {
+            EventReceive event = queue.poll();
+            if (event == null) {
+                break;
+            }
+            if (event == END) {
+                finish();
+                break;
+            }
+            events.add(event);
+        }
+        return events;
+    }
+
+    /**
+     * @return Sequential stream of the events, closing it closes the subscription.
+     */
+    public Stream<EventReceive> stream() {
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(this::close);
+    }
+
+    /**
+     * @return The underlying subscription.
+     */
+    public Subscription getSubscription() {
+        return subscription;
+    }
+
+    /**
+     * Close the subscription and drop the events not read yet.
+     */
+    @Override
+    public void close() {
+        subscription.close();
+        // Unblock the delivering thread so it can reach the end of the subscription
+        queue.clear();
+        finished = true;
+        peeked = null;
+    }
+
+    private EventReceive take(long timeoutNanos) throws InterruptedException {
+        EventReceive event = queue.poll();
+        if (event == null) {
+            if (ended) {
+                event = END;
+            } else {
+                event = queue.poll(timeoutNanos, TimeUnit.NANOSECONDS);
+                if (event == null) {
+                    return null;
+                }
+            }
+        }
+        if (event == END) {
+            finish();
+            return null;
+        }
+        return event;
+    }
+
+    private void finish() {
+        finished = true;
+        Throwable t = error;
+        if (t != null) {
+            error = null;
+            if (t instanceof RuntimeException) {
+                throw (RuntimeException) t;
+            }
+            throw new IllegalStateException("The events subscription failed", t);
+        }
+    }
+
+    private class Receiver implements StreamObserver<EventReceive> {
+
+        @Override
+        public void onNext(EventReceive value) {
+            try {
+                queue.put(value);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            error = t;
+            end();
+        }
+
+        @Override
+        public void onCompleted() {
+            end();
+        }
+
+        private void end() {
+            ended = true;
+            // When the queue is full, the reader sees the end flag once it emptied the queue
+            queue.offer(END);
+        }
+    }
+}
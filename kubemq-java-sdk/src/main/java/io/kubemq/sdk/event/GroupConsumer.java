@@ -0,0 +1,385 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 KubeMQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.kubemq.sdk.event;
+
+import io.kubemq.sdk.basic.ServerAddressNotSuppliedException;
+import io.kubemq.sdk.subscription.SubscribeRequest;
+import io.grpc.stub.StreamObserver;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.net.ssl.SSLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs several members of a subscription group in the process, over the connection of a single Subscriber,
+ * and resizes the group to the load. The server load balances the events of the group between its members.
+ * <p>
+ * Every member has its own subscription, with a prefetch (32 unless set in the options) and a handler thread.
+ * Once per scale interval the consumer estimates the members needed to keep them at most 70% busy, from the
+ * rate of handled events and the moving average of the handler latency, and adds a member when the prefetch
+ * buffers are more than half full. It then moves the member count one step toward the target, within the bounds.
+ * Members being removed handle their buffered events before stopping.
+ * Resizing runs on a thread of the consumer, and member subscriptions are opened without holding the consumer lock.
+ * <p>
+ * The handler is called concurrently by the members, so it must be thread safe.
+ */
+public class GroupConsumer implements AutoCloseable {
+
+    private static Logger logger = LoggerFactory.getLogger(GroupConsumer.class);
+
+    private static final int DEFAULT_PREFETCH = 32;
+    private static final long DEFAULT_SCALE_INTERVAL_MILLIS = 1000;
+    private static final double TARGET_UTILIZATION = 0.7;
+    private static final double LATENCY_SMOOTHING = 0.2;
+
+    private final Subscriber subscriber;
+    private final SubscribeRequest subscribeRequest;
+    private final StreamObserver<EventReceive> handler;
+    private final SubscriptionOptions options;
+    private final int minMembers;
+    private final int maxMembers;
+    private final long scaleIntervalMillis;
+    private final List<Member> members = new ArrayList<>();
+    // Members removed and still handling their buffered events
+    private final List<Member> retiring = new ArrayList<>();
+    private ScheduledExecutorService scaler;
+    private int nextMemberId;
+    private boolean started;
+    private boolean closed;
+
+    /**
+     * Initializes a new GroupConsumer with one member per available processor.
+     *
+     * @param subscriber       Subscriber used to open the subscriptions of the members.
+     * @param subscribeRequest Subscription of the members, the group is mandatory.
+     * @param handler          Thread safe handler of the events, completed once the consumer is closed.
+     */
+    public GroupConsumer(Subscriber subscriber, SubscribeRequest subscribeRequest, StreamObserver<EventReceive> handler) {
+        this(subscriber, subscribeRequest, handler, 1, Runtime.getRuntime().availableProcessors(), null);
+    }
+
+    /**
+     * Initializes a new GroupConsumer.
+     *
+     * @param subscriber       Subscriber used to open the subscriptions of the members.
+     * @param subscribeRequest Subscription of the members, the group is mandatory.
+     *                         Each member subscribes with the client ID suffixed by its number.
+     * @param handler          Thread safe handler of the events, completed once the consumer is closed.
+     * @param minMembers       Minimum number of members, started by {@link #Start()}.
+     * @param maxMembers       Maximum number of members, equal to minMembers for a fixed size group.
+     * @param options          Subscription options of the members, null for the defaults. Keyed dispatch is not supported.
+     */
+    public GroupConsumer(Subscriber subscriber, SubscribeRequest subscribeRequest, StreamObserver<EventReceive> handler,
+                         int minMembers, int maxMembers, SubscriptionOptions options) {
+        if (StringUtils.isBlank(subscribeRequest.getGroup())) {
+            throw new IllegalArgumentException("Parameter Group is mandatory");
+        }
+        if (minMembers < 1 || maxMembers < minMembers) {
+            throw new IllegalArgumentException("Member bounds must satisfy 1 <= minMembers <= maxMembers");
+        }
+        if (options != null && options.getParallelism() > 0) {
+            throw new IllegalArgumentException("Keyed dispatch is not supported by group consumers");
+        }
+        this.subscriber = subscriber;
+        this.subscribeRequest = subscribeRequest;
+        this.handler = handler;
+        this.minMembers = minMembers;
+        this.maxMembers = maxMembers;
+        this.scaleIntervalMillis = DEFAULT_SCALE_INTERVAL_MILLIS;
+        this.options = options == null ? new SubscriptionOptions() : new SubscriptionOptions(options);
+        if (this.options.getPrefetch() == 0) {
+            this.options.setPrefetch(DEFAULT_PREFETCH);
+        }
+    }
+
+    /**
+     * Start the minimum number of members, then resize the group every scale interval.
+     *
+     * @throws ServerAddressNotSuppliedException Thrown exception when KubeMQ server
+     *                                           address can not be determined.
+     * @throws SSLException                      Indicates some kind of error
+     *                                           detected by an SSL subsystem.
+     */
+    public void Start() throws ServerAddressNotSuppliedException, SSLException {
+        synchronized (this) {
+            if (started || closed) {
+                return;
+            }
+            started = true;
+            scaler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "kubemq-group-consumer-" + subscribeRequest.getGroup());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        subscriber.Ping();
+        for (int i = 0; i < minMembers; i++) {
+            addMember();
+        }
+        if (minMembers < maxMembers) {
+            synchronized (this) {
+                if (!closed) {
+                    scaler.scheduleWithFixedDelay(this::scale, scaleIntervalMillis, scaleIntervalMillis, TimeUnit.MILLISECONDS);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return Number of running members.
+     */
+    public synchronized int getMemberCount() {
+        return members.size();
+    }
+
+    /**
+     * @return Events received by the members and waiting for the handler.
+     */
+    public synchronized int getInFlightEvents() {
+        int inFlight = 0;
+        for (Member member : members) {
+            inFlight += member.subscription.getBufferedEvents();
+        }
+        return inFlight;
+    }
+
+    /**
+     * @return Moving average of the handler latency across the members (Milliseconds).
+     */
+    public synchronized double getLatencyMillis() {
+        if (members.isEmpty()) {
+            return 0;
+        }
+        double latency = 0;
+        for (Member member : members) {
+            latency += member.latencyNanos;
+        }
+        return latency / members.size() / 1e6;
+    }
+
+    /**
+     * Close the subscriptions of the members, dropping their buffered events, and complete the handler
+     * once the members stopped calling it.
+     */
+    @Override
+    public void close() {
+        List<Member> closing;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (scaler != null) {
+                scaler.shutdownNow();
+            }
+            closing = new ArrayList<>(members);
+            closing.addAll(retiring);
+            members.clear();
+            retiring.clear();
+        }
+        for (Member member : closing) {
+            member.subscription.close();
+        }
+        try {
+            for (Member member : closing) {
+                member.subscription.awaitTermination();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        handler.onCompleted();
+    }
+
+    /**
+     * Add a member, opening its subscription outside of the consumer lock.
+     */
+    private void addMember() throws ServerAddressNotSuppliedException, SSLException {
+        Member member;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            int id = nextMemberId++;
+            SubscribeRequest memberRequest = new SubscribeRequest(
+                    subscribeRequest.getSubscribeType(),
+                    subscribeRequest.getClientID() + "-" + id,
+                    subscribeRequest.getChannel(),
+                    subscribeRequest.getGroup(),
+                    subscribeRequest.getEventsStoreType(),
+                    subscribeRequest.getEventsStoreTypeValue());
+            member = new Member(id);
+            member.subscription = new Subscription(subscriber, memberRequest, member, options);
+            members.add(member);
+        }
+        try {
+            member.subscription.Start();
+        } catch (ServerAddressNotSuppliedException | SSLException | RuntimeException e) {
+            synchronized (this) {
+                members.remove(member);
+            }
+            member.subscription.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Move the member count one step toward the count keeping the members at the target utilization.
+     */
+    private void scale() {
+        int count;
+        int target;
+        Member removed = null;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            long handled = 0;
+            double latencyNanos = 0;
+            int buffered = 0;
+            for (Member member : members) {
+                long memberHandled = member.handledEvents;
+                handled += memberHandled - member.lastHandledEvents;
+                member.lastHandledEvents = memberHandled;
+                latencyNanos += member.latencyNanos;
+                buffered += member.subscription.getBufferedEvents();
+            }
+            count = members.size();
+            if (count > 0) {
+                latencyNanos /= count;
+            }
+
+            // Members needed to handle the observed rate at the target utilization
+            double busyNanos = handled * latencyNanos;
+            target = (int) Math.ceil(busyNanos / (scaleIntervalMillis * 1e6 * TARGET_UTILIZATION));
+            if (buffered * 2 > count * options.getPrefetch()) {
+                target = Math.max(target, count + 1);
+            }
+            target = Math.max(minMembers, Math.min(maxMembers, target));
+
+            if (target < count && buffered == 0) {
+                removed = members.remove(members.size() - 1);
+                retiring.add(removed);
+            }
+        }
+
+        try {
+            if (target > count) {
+                addMember();
+                logger.debug("Group '{}' of channel '{}' scaled up to {} members",
+                        subscribeRequest.getGroup(), subscribeRequest.getChannel(), count + 1);
+            } else if (removed != null) {
+                removed.subscription.closeAfterDrain();
+                logger.debug("Group '{}' of channel '{}' scaled down to {} members",
+                        subscribeRequest.getGroup(), subscribeRequest.getChannel(), count - 1);
+            }
+        } catch (ServerAddressNotSuppliedException | SSLException | RuntimeException e) {
+            logger.error("Failed to resize group '{}' of channel '{}': {}",
+                    subscribeRequest.getGroup(), subscribeRequest.getChannel(), e.getMessage());
+        }
+    }
+
+    /**
+     * Add members until the minimum is running again.
+     */
+    private void replaceMembers() {
+        while (true) {
+            synchronized (this) {
+                if (closed || members.size() >= minMembers) {
+                    return;
+                }
+            }
+            try {
+                addMember();
+            } catch (ServerAddressNotSuppliedException | SSLException | RuntimeException e) {
+                logger.error("Failed to replace a member of group '{}' of channel '{}': {}",
+                        subscribeRequest.getGroup(), subscribeRequest.getChannel(), e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private synchronized void memberFailed(Member member, Throwable t) {
+        if (closed || !members.remove(member)) {
+            return;
+        }
+        logger.error("Member {} of group '{}' of channel '{}' stopped: {}",
+                member.id, subscribeRequest.getGroup(), subscribeRequest.getChannel(), t.getMessage());
+        if (members.size() < minMembers) {
+            scaler.execute(this::replaceMembers);
+        }
+    }
+
+    private synchronized void memberRetired(Member member) {
+        retiring.remove(member);
+    }
+
+    /**
+     * Member of the group, timing the handler on the member's handler thread.
+     */
+    private final class Member implements StreamObserver<EventReceive> {
+
+        private final int id;
+        private Subscription subscription;
+        // Written by the member's handler thread only
+        private volatile long handledEvents;
+        private volatile double latencyNanos;
+        // Guarded by the consumer
+        private long lastHandledEvents;
+
+        private Member(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public void onNext(EventReceive event) {
+            long start = System.nanoTime();
+            try {
+                handler.onNext(event);
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                latencyNanos = handledEvents == 0
+                        ? elapsed
+                        : latencyNanos + LATENCY_SMOOTHING * (elapsed - latencyNanos);
+                handledEvents++;
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            memberFailed(this, t);
+        }
+
+        @Override
+        public void onCompleted() {
+            // Closed by the consumer, which completes the handler once
+            memberRetired(this);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 KubeMQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.kubemq.sdk.event;
+
+import io.grpc.stub.StreamObserver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dispatches received events to a pool of worker threads while keeping the order of the events sharing a key.
+ * Each worker owns a bounded queue, and all the events of a key go to the same worker.
+ * Events without a key are spread over the workers in turn.
+ * When a queue is full, onNext blocks, slowing down the subscription feeding the dispatcher.
+ * <p>
+ * The handler's onNext is called concurrently from the workers. Its onCompleted or onError is called once,
+ * after every worker handled its queued events.
+ */
+public class KeyedDispatcher implements StreamObserver<EventReceive> {
+
+    private static Logger logger = LoggerFactory.getLogger(KeyedDispatcher.class);
+
+    private static final EventReceive END = new EventReceive();
+
+    private final StreamObserver<EventReceive> handler;
+    private final EventKeyExtractor keyExtractor;
+    private final Stripe[] stripes;
+    private final AtomicInteger nextUnkeyed = new AtomicInteger();
+    private final AtomicInteger runningStripes;
+    private volatile Throwable error;
+
+    /**
+     * Initializes a new KeyedDispatcher with queues of 256 events.
+     *
+     * @param handler      Handler of the events, called concurrently.
+     * @param keyExtractor Extracts the ordering key of the events.
+     * @param parallelism  Number of worker threads.
+     */
+    public KeyedDispatcher(StreamObserver<EventReceive> handler, EventKeyExtractor keyExtractor, int parallelism) {
+        this(handler, keyExtractor, parallelism, 256);
+    }
+
+    /**
+     * Initializes a new KeyedDispatcher.
+     *
+     * @param handler       Handler of the events, called concurrently.
+     * @param keyExtractor  Extracts the ordering key of the events.
+     * @param parallelism   Number of worker threads.
+     * @param queueCapacity Maximum number of events queued per worker.
+     */
+    public KeyedDispatcher(StreamObserver<EventReceive> handler, EventKeyExtractor keyExtractor, int parallelism,
+                           int queueCapacity) {
+        if (parallelism < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("Parameters parallelism and queueCapacity must be positive");
+        }
+        this.handler = handler;
+        this.keyExtractor = keyExtractor;
+        this.stripes = new Stripe[parallelism];
+        this.runningStripes = new AtomicInteger(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            stripes[i] = new Stripe(i, queueCapacity);
+        }
+    }
+
+    @Override
+    public void onNext(EventReceive event) {
+        String key = keyExtractor.keyOf(event);
+        int index;
+        if (key == null) {
+            index = Math.floorMod(nextUnkeyed.getAndIncrement(), stripes.length);
+        } else {
+            int h = key.hashCode();
+            index = Math.floorMod(h ^ (h >>> 16), stripes.length);
+        }
+        try {
+            stripes[index].queue.put(event);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while dispatching event " + event.getEventId(), e);
+        }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        error = t;
+        end();
+    }
+
+    @Override
+    public void onCompleted() {
+        end();
+    }
+
+    /**
+     * @return Number of events queued and not handled yet.
+     */
+    public int getQueuedEvents() {
+        int queued = 0;
+        for (Stripe stripe : stripes) {
+            queued += stripe.queue.size();
+        }
+        return queued;
+    }
+
+    private void end() {
+        for (Stripe stripe : stripes) {
+            try {
+                stripe.queue.put(END);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                stripe.worker.interrupt();
+            }
+        }
+    }
+
+    private void stripeEnded() {
+        if (runningStripes.decrementAndGet() > 0) {
+            return;
+        }
+        if (error == null) {
+            handler.onCompleted();
+        } else {
+            handler.onError(error);
+        }
+    }
+
+    private final class Stripe implements Runnable {
+
+        private final BlockingQueue<EventReceive> queue;
+        private final Thread worker;
+
+        private Stripe(int index, int capacity) {
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.worker = new Thread(this, "kubemq-dispatcher-" + index);
+            this.worker.setDaemon(true);
+            this.worker.start();
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    EventReceive event = queue.take();
+                    if (event == END) {
+                        break;
+                    }
+                    try {
+                        handler.onNext(event);
+                    } catch (RuntimeException e) {
+                        logger.error("Event handler failed on event '{}': {}", event.getEventId(), e.getMessage(), e);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            stripeEnded();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 KubeMQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.kubemq.sdk.event;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Decides which events a subscription drops when its handler falls behind, to bound the delivery latency
+ * instead of delivering every event. With a shedding policy the subscription keeps receiving events
+ * at the rate the server sends them, and sheds from its prefetch buffer once the buffer fills up.
+ * Events are shed in their wire form, before being converted.
+ */
+public final class SheddingPolicy {
+
+    enum Kind {
+        DROP_OLDEST,
+        DROP_NEWEST,
+        SAMPLE,
+        PRIORITY_BY_TAG
+    }
+
+    private final Kind kind;
+    private final int sampleRate;
+    private final String priorityTag;
+
+    private SheddingPolicy(Kind kind, int sampleRate, String priorityTag) {
+        this.kind = kind;
+        this.sampleRate = sampleRate;
+        this.priorityTag = priorityTag;
+    }
+
+    /**
+     * @return Policy dropping the oldest buffered event to make room for a new one.
+     */
+    public static SheddingPolicy dropOldest() {
+        return new SheddingPolicy(Kind.DROP_OLDEST, 0, null);
+    }
+
+    /**
+     * @return Policy dropping the received events while the buffer is full.
+     */
+    public static SheddingPolicy dropNewest() {
+        return new SheddingPolicy(Kind.DROP_NEWEST, 0, null);
+    }
+
+    /**
+     * @param rate Keep one event out of rate, at least 2.
+     * @return Policy keeping one received event out of {@code rate} while the buffer is more than half full,
+     * and dropping the received events while it is full.
+     */
+    public static SheddingPolicy sample(int rate) {
+        if (rate < 2) {
+            throw new IllegalArgumentException("Parameter rate must be at least 2");
+        }
+        return new SheddingPolicy(Kind.SAMPLE, rate, null);
+    }
+
+    /**
+     * @param tag Name of the tag holding the integer priority of the events, events without it have priority 0.
+     * @return Policy dropping, when the buffer is full, the oldest event of the lowest priority
+     * among the buffered events and the received one.
+     */
+    public static SheddingPolicy priorityByTag(String tag) {
+        if (StringUtils.isBlank(tag)) {
+            throw new IllegalArgumentException("Parameter tag is mandatory");
+        }
+        return new SheddingPolicy(Kind.PRIORITY_BY_TAG, 0, tag);
+    }
+
+    Kind getKind() {
+        return kind;
+    }
+
+    int getSampleRate() {
+        return sampleRate;
+    }
+
+    String getPriorityTag() {
+        return priorityTag;
+    }
+}
@@ -23,6 +23,7 @@
  */
 package io.kubemq.sdk.event;
 
+import io.kubemq.sdk.basic.ClientOptions;
 import io.kubemq.sdk.basic.GrpcClient;
 import io.kubemq.sdk.basic.ServerAddressNotSuppliedException;
 import io.kubemq.sdk.grpc.Kubemq;
@@ -42,6 +43,9 @@ public class Subscriber extends GrpcClient {
 
     private static Logger logger = LoggerFactory.getLogger(Subscriber.class);
 
+    private static final long CATCH_UP_LINGER_MILLIS = 100;
+    private static final long CATCH_UP_PROBE_WINDOW_MILLIS = 1000;
+
     /**
      * Initialize a new Subscriber to incoming messages KubeMQAddress will be parsed
      * from Config or environment parameter
@@ -56,6 +60,17 @@ public class Subscriber extends GrpcClient {
      * @param KubeMQAddress KubeMQ server address
      */
     public Subscriber(String KubeMQAddress) {
+        this(KubeMQAddress, null);
+    }
+
+    /**
+     * Initialize a new Subscriber to incoming messages
+     *
+     * @param KubeMQAddress KubeMQ server address, null to take it from the client options or configuration.
+     * @param clientOptions Connection and transport options.
+     */
+    public Subscriber(String KubeMQAddress, ClientOptions clientOptions) {
+        super(clientOptions);
         _kubemqAddress = KubeMQAddress;
     }
 
@@ -149,6 +164,177 @@ public class Subscriber extends GrpcClient {
         GetKubeMQAsyncClient().subscribeToEvents(innerSubscribeRequest, observer);
     }
 
+    /**
+     * Register to kubeMQ Channel using io.kubemq.sdk.Subscription.SubscribeRequest,
+     * re-subscribing with the options' reconnect policy when the stream fails.
+     * EventsStore subscriptions resume at the sequence following the last delivered event.
+     * This method is async.
+     *
+     * @param subscribeRequest Parameters list represent by
+     *                         io.kubemq.sdk.Subscription.SubscribeRequest that will
+     *                         determine the subscription configuration.
+     * @param streamObserver   Async StreamObserver to handle the events, onError is called only once the subscription gives up.
+     * @param options          Subscription options, null for the defaults.
+     * @return Subscription handle, used to close the subscription.
+     * @throws ServerAddressNotSuppliedException Thrown exception when KubeMQ server
+     *                                           address can not be determined.
+     * @throws SSLException                      Indicates some kind of error
+     *                                           detected by an SSL subsystem.
+     */
+    public Subscription SubscribeToEvents(
+            SubscribeRequest subscribeRequest,
+            StreamObserver<EventReceive> streamObserver,
+            SubscriptionOptions options
+    ) throws ServerAddressNotSuppliedException, SSLException {
+
+        ValidateSubscribeRequest(subscribeRequest);
+        this.Ping();
+
+        Subscription subscription = new Subscription(this, subscribeRequest, streamObserver,
+                options == null ? new SubscriptionOptions() : options);
+        subscription.Start();
+        return subscription;
+    }
+
+    /**
+     * Register to kubeMQ Channel using io.kubemq.sdk.Subscription.SubscribeRequest,
+     * returning a blocking stream of the events that stays open across reads.
+     * The subscription reconnects as set in the options, and uses their prefetch (128 when not set)
+     * to bound the events received ahead of the reader.
+     *
+     * @param subscribeRequest Parameters list represent by
+     *                         io.kubemq.sdk.Subscription.SubscribeRequest that will
+     *                         determine the subscription configuration.
+     * @param options          Subscription options, null for the defaults. Keyed dispatch is not supported.
+     * @return EventStream to read the events from, to be closed once done.
+     * @throws ServerAddressNotSuppliedException Thrown exception when KubeMQ server
+     *                                           address can not be determined.
+     * @throws SSLException                      Indicates some kind of error
+     *                                           detected by an SSL subsystem.
+     */
+    public EventStream SubscribeToEventStream(SubscribeRequest subscribeRequest, SubscriptionOptions options)
+            throws ServerAddressNotSuppliedException, SSLException {
+        options = options == null ? new SubscriptionOptions() : new SubscriptionOptions(options);
+        if (options.getParallelism() > 0) {
+            throw new IllegalArgumentException("Keyed dispatch is not supported by event streams");
+        }
+        if (options.getPrefetch() == 0) {
+            options.setPrefetch(128);
+        }
+
+        EventStream stream = new EventStream(options.getPrefetch());
+        stream.setSubscription(SubscribeToEvents(subscribeRequest, stream.getReceiver(), options));
+        return stream;
+    }
+
+    /**
+     * Register to kubeMQ EventsStore Channel using io.kubemq.sdk.Subscription.SubscribeRequest,
+     * delivering the replayed events in batches of up to {@code maxBatchSize} events until the subscription
+     * reaches the head of the channel, then the live events one by one.
+     * The head is tracked by a second subscription, starting from the last stored event with the client ID suffixed by "-head",
+     * which is closed once caught up. A channel whose probe receives no event within a second is taken as empty
+     * and caught up at once.
+     * This method is async.
+     *
+     * @param subscribeRequest Parameters list represent by
+     *                         io.kubemq.sdk.Subscription.SubscribeRequest that will
+     *                         determine the subscription configuration.
+     * @param handler          Handler of the replayed batches and live events.
+     * @param maxBatchSize     Maximum number of replayed events in a batch.
+     * @param options          Subscription options, null for the defaults. Keyed dispatch is not supported.
+     * @return Subscription handle, used to close the subscription.
+     * @throws ServerAddressNotSuppliedException Thrown exception when KubeMQ server
+     *                                           address can not be determined.
+     * @throws SSLException                      Indicates some kind of error
+     *                                           detected by an SSL subsystem.
+     */
+    public Subscription SubscribeToEventsCatchUp(
+            SubscribeRequest subscribeRequest,
+            CatchUpHandler handler,
+            int maxBatchSize,
+            SubscriptionOptions options
+    ) throws ServerAddressNotSuppliedException, SSLException {
+        if (subscribeRequest.getSubscribeType() != SubscribeType.EventsStore) {
+            throw new IllegalArgumentException("Catch-up is only supported by EventsStore subscriptions");
+        }
+        if (options != null && options.getParallelism() > 0) {
+            throw new IllegalArgumentException("Keyed dispatch is not supported by catch-up subscriptions");
+        }
+
+        CatchUpObserver observer = new CatchUpObserver(handler, maxBatchSize, CATCH_UP_LINGER_MILLIS, CATCH_UP_PROBE_WINDOW_MILLIS);
+        Subscription subscription = SubscribeToEvents(subscribeRequest, observer, options);
+
+        Kubemq.Subscribe headRequest = subscribeRequest.ToInnerSubscribeRequest().toBuilder()
+                .setClientID(subscribeRequest.getClientID() + "-head")
+                .setGroup("")
+                .setEventsStoreTypeData(Kubemq.Subscribe.EventsStoreType.StartFromLast)
+                .setEventsStoreTypeValue(0)
+                .build();
+        try {
+            OpenEventsStream(headRequest, observer.getHeadProbe());
+        } catch (ServerAddressNotSuppliedException | SSLException | RuntimeException e) {
+            subscription.close();
+            throw e;
+        }
+        return subscription;
+    }
+
+    /**
+     * Register to kubeMQ Channel using io.kubemq.sdk.Subscription.SubscribeRequest,
+     * keeping only the latest event of each key. Readers take snapshots or the changes since
+     * their last read, skipping the intermediate events of a key.
+     * This method is async.
+     *
+     * @param subscribeRequest Parameters list represent by
+     *                         io.kubemq.sdk.Subscription.SubscribeRequest that will
+     *                         determine the subscription configuration.
+     * @param keyExtractor     Extracts the key of the events, such as EventKeyExtractor.byTag("id").
+     * @param options          Subscription options, null for the defaults. Keyed dispatch is not supported.
+     * @return Cache of the latest event per key, to be closed once done.
+     * @throws ServerAddressNotSuppliedException Thrown exception when KubeMQ server
+     *                                           address can not be determined.
+     * @throws SSLException                      Indicates some kind of error
+     *                                           detected by an SSL subsystem.
+     */
+    public ConflatingCache SubscribeToEventsConflated(
+            SubscribeRequest subscribeRequest,
+            EventKeyExtractor keyExtractor,
+            SubscriptionOptions options
+    ) throws ServerAddressNotSuppliedException, SSLException {
+        if (options != null && options.getParallelism() > 0) {
+            throw new IllegalArgumentException("Keyed dispatch is not supported by conflating subscriptions");
+        }
+
+        ConflatingCache cache = new ConflatingCache(keyExtractor);
+        cache.setSubscription(SubscribeToEvents(subscribeRequest, cache.getReceiver(), options));
+        return cache;
+    }
+
+    /**
+     * Get a reactive streams publisher of the events of the kubeMQ Channel set by io.kubemq.sdk.Subscription.SubscribeRequest.
+     * Every subscriber of the publisher opens its own subscription, asking the server for events only as
+     * the subscriber requests them. The subscription reconnects as set in the options, whose prefetch is not used.
+     *
+     * @param subscribeRequest Parameters list represent by
+     *                         io.kubemq.sdk.Subscription.SubscribeRequest that will
+     *                         determine the subscription configuration.
+     * @param options          Subscription options, null for the defaults. Keyed dispatch is not supported.
+     * @return Publisher of the events.
+     */
+    public EventPublisher SubscribeToEventsPublisher(SubscribeRequest subscribeRequest, SubscriptionOptions options) {
+        ValidateSubscribeRequest(subscribeRequest);
+        options = options == null ? new SubscriptionOptions() : new SubscriptionOptions(options);
+        if (options.getParallelism() > 0) {
+            throw new IllegalArgumentException("Keyed dispatch is not supported by event publishers");
+        }
+        return new EventPublisher(this, subscribeRequest, options);
+    }
+
+    void OpenEventsStream(Kubemq.Subscribe innerSubscribeRequest, StreamObserver<Kubemq.EventReceive> observer)
+            throws ServerAddressNotSuppliedException, SSLException {
+        GetKubeMQAsyncClient().subscribeToEvents(innerSubscribeRequest, observer);
+    }
+
     private void ValidateSubscribeRequest(SubscribeRequest subscribeRequest) {
         if (StringUtils.isBlank(subscribeRequest.getChannel())) {
             throw new IllegalArgumentException("Parameter Channel is mandatory");
@@ -166,7 +352,7 @@ public class Subscriber extends GrpcClient {
         }
     }
 
-    private void LogIncomingMessage(Kubemq.EventReceive message) {
+    void LogIncomingMessage(Kubemq.EventReceive message) {
         if (logger.isTraceEnabled()) {
             logger.trace(
                     "Subscriber Received Event: EventID:'{}', Channel:'{}', Metadata: '{}'",
@@ -0,0 +1,622 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 KubeMQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.kubemq.sdk.event;
+
+import io.grpc.Status;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import io.grpc.stub.StreamObserver;
+import io.kubemq.sdk.basic.ServerAddressNotSuppliedException;
+import io.kubemq.sdk.grpc.Kubemq;
+import io.kubemq.sdk.subscription.CheckpointStore;
+import io.kubemq.sdk.subscription.ReconnectPolicy;
+import io.kubemq.sdk.subscription.SubscribeRequest;
+import io.kubemq.sdk.subscription.SubscribeType;
+import io.kubemq.sdk.tools.DedupCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.net.ssl.SSLException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Handle of an events subscription that re-subscribes after the stream fails.
+ * EventsStore subscriptions resume at the sequence following the last delivered event,
+ * so a reconnect neither replays nor skips events. With a checkpoint store they also resume
+ * after the last delivered event of a previous run.
+ * <p>
+ * With a prefetch set, inbound flow control is manual: the server is asked for at most prefetch events
+ * ahead of the handler, which runs on a dedicated thread, and one more event is requested
+ * each time the handler returns, unless a shedding policy drops events instead.
+ * Without it events are delivered on the gRPC thread.
+ * <p>
+ * Demand driven subscriptions, backing the reactive streams publisher, ask the server for exactly
+ * the events requested downstream and deliver them on the gRPC thread.
+ */
+public class Subscription implements AutoCloseable {
+
+    private static Logger logger = LoggerFactory.getLogger(Subscription.class);
+
+    /**
+     * Maximum number of events requested on a call of a demand driven subscription, keeping the gRPC count in range.
+     */
+    private static final int MAX_OUTSTANDING = Integer.MAX_VALUE / 2;
+
+    private static final Runnable NO_OP = () -> {
+    };
+
+    // Credit of a drained event goes to the current stream, whichever stream the event came from
+    private final Runnable requestOne = this::replenish;
+    // Events received and not delivered yet, buffered or in the handler
+    private final AtomicInteger held = new AtomicInteger();
+    // Deliveries not to replenish, for the event gRPC requested beyond a full window; guarded by this
+    private int overdrawn;
+
+    static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "kubemq-subscription-scheduler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Subscriber subscriber;
+    private final Kubemq.Subscribe innerSubscribeRequest;
+    private final boolean eventsStore;
+    private final StreamObserver<EventReceive> streamObserver;
+    private final SubscriptionOptions options;
+    private final int prefetch;
+    private final DeliveryBuffer buffer;
+    private final boolean shedding;
+    private final CheckpointStore checkpointStore;
+    private final DedupCache dedupCache;
+    private final Object checkpointLock = new Object();
+    private final boolean demandDriven;
+    private final Object demandLock = new Object();
+    private long demand;
+    // Events received beyond the demand in arrival order, guarded by demandLock; a stream parks at most the event gRPC requests by itself
+    private final Queue<Kubemq.EventReceive> parked = new ArrayDeque<>();
+    // A thread is delivering the parked events, guarded by demandLock
+    private boolean releasing;
+    private long committedSequence;
+    private ScheduledFuture<?> checkpointTask;
+
+    private final CountDownLatch terminated = new CountDownLatch(1);
+    private volatile Thread drainer;
+    private volatile EventsObserver current;
+    private ScheduledFuture<?> pendingReconnect;
+    private int failedAttempts;
+    private volatile long lastSequence;
+    private volatile boolean closed;
+
+    Subscription(Subscriber subscriber, SubscribeRequest subscribeRequest,
+                 StreamObserver<EventReceive> streamObserver, SubscriptionOptions options) {
+        this(subscriber, subscribeRequest, streamObserver, options, false);
+    }
+
+    /**
+     * @param demandDriven Request events from the server only as {@link #request(long)} is called,
+     *                     instead of using the options' prefetch or automatic flow control.
+     */
+    Subscription(Subscriber subscriber, SubscribeRequest subscribeRequest,
+                 StreamObserver<EventReceive> streamObserver, SubscriptionOptions options, boolean demandDriven) {
+        this.subscriber = subscriber;
+        this.demandDriven = demandDriven;
+        this.innerSubscribeRequest = subscribeRequest.ToInnerSubscribeRequest();
+        this.eventsStore = subscribeRequest.getSubscribeType() == SubscribeType.EventsStore;
+        this.streamObserver = options.getParallelism() > 0
+                ? new KeyedDispatcher(streamObserver, options.getKeyExtractor(), options.getParallelism())
+                : streamObserver;
+        this.options = options;
+        this.prefetch = demandDriven ? 0 : options.getPrefetch();
+        // One more than the prefetch, for the message gRPC requests by itself when a call starts
+        this.buffer = prefetch > 0 ? new DeliveryBuffer(prefetch + 1, options.getSheddingPolicy()) : null;
+        this.shedding = buffer != null && options.getSheddingPolicy() != null;
+        this.checkpointStore = eventsStore ? options.getCheckpointStore() : null;
+        this.dedupCache = options.getDedupCache();
+
+        if (checkpointStore != null) {
+            try {
+                lastSequence = checkpointStore.load(innerSubscribeRequest.getClientID(), innerSubscribeRequest.getChannel());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to load the checkpoint of channel " + innerSubscribeRequest.getChannel(), e);
+            }
+            committedSequence = lastSequence;
+        }
+    }
+
+    synchronized void Start() throws ServerAddressNotSuppliedException, SSLException {
+        if (closed) {
+            return;
+        }
+        if (buffer != null) {
+            drainer = new Thread(this::drain, "kubemq-subscription-" + innerSubscribeRequest.getChannel());
+            drainer.setDaemon(true);
+            drainer.start();
+        }
+        if (checkpointStore != null) {
+            long interval = options.getCheckpointIntervalMillis();
+            checkpointTask = scheduler.scheduleWithFixedDelay(this::commitCheckpoint, interval, interval, TimeUnit.MILLISECONDS);
+        }
+        open();
+    }
+
+    /**
+     * @return Sequence of the last event delivered to the observer, 0 if none was delivered or the channel is not stored.
+     */
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * @return Number of events received and waiting for the handler, always 0 without prefetch.
+     */
+    public int getBufferedEvents() {
+        return buffer == null ? 0 : buffer.size();
+    }
+
+    /**
+     * @return Number of events dropped by the shedding policy.
+     */
+    public long getShedEvents() {
+        return buffer == null ? 0 : buffer.getShedEvents();
+    }
+
+    /**
+     * @return true once the subscription was closed, or gave up reconnecting.
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Cancel the subscription stream and stop reconnecting. Buffered events are dropped and the observer is completed.
+     */
+    @Override
+    public void close() {
+        close(false);
+    }
+
+    /**
+     * Cancel the subscription stream and stop reconnecting, completing the observer
+     * once the buffered events were delivered.
+     */
+    void closeAfterDrain() {
+        close(true);
+    }
+
+    /**
+     * Wait until the observer was completed or failed, once the subscription is closed or gave up.
+     * With a prefetch, the handler thread has then stopped calling the observer.
+     * Returns at once when called by the handler thread itself.
+     *
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    void awaitTermination() throws InterruptedException {
+        if (Thread.currentThread() != drainer) {
+            terminated.await();
+        }
+    }
+
+    private void close(boolean drain) {
+        EventsObserver observer;
+        boolean started;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (pendingReconnect != null) {
+                pendingReconnect.cancel(false);
+                pendingReconnect = null;
+            }
+            observer = current;
+            current = null;
+            started = drainer != null;
+        }
+        if (observer != null) {
+            observer.requestStream.cancel("Subscription closed", null);
+        }
+        stopCheckpoints();
+        if (buffer != null && started && drain) {
+            buffer.terminate(null);
+        } else if (buffer != null && started) {
+            buffer.terminateNow(null);
+        } else {
+            // Without a handler thread, the observer is completed here
+            streamObserver.onCompleted();
+            terminated.countDown();
+        }
+    }
+
+    /**
+     * Ask the current stream for one more event, once a buffered event was delivered.
+     * Runs under the subscription lock so that {@link #open()} counts either the held event
+     * or the event requested for it, never both.
+     */
+    private synchronized void replenish() {
+        held.decrementAndGet();
+        if (overdrawn > 0) {
+            overdrawn--;
+        } else if (current != null) {
+            current.request(1);
+        }
+    }
+
+    private void open() throws ServerAddressNotSuppliedException, SSLException {
+        // gRPC already requests one message when starting the call. Without shedding, events held
+        // from a previous stream count against the window and replenish the new stream as they are delivered.
+        int window = shedding ? prefetch - 1 : prefetch - held.get() - 1;
+        overdrawn = Math.max(0, -window);
+        EventsObserver observer = new EventsObserver();
+        subscriber.OpenEventsStream(resumeRequest(), observer);
+        if (buffer != null) {
+            observer.request(window);
+        } else if (demandDriven) {
+            requestDemand();
+        }
+    }
+
+    /**
+     * Add to the events requested by a demand driven subscription.
+     *
+     * @param count Number of events, Long.MAX_VALUE for no limit.
+     */
+    void request(long count) {
+        synchronized (demandLock) {
+            demand = demand + count < 0 ? Long.MAX_VALUE : demand + count;
+        }
+        releaseParked();
+        requestDemand();
+    }
+
+    /**
+     * Ask the server for the events requested but not asked for yet on the current stream.
+     */
+    private void requestDemand() {
+        EventsObserver observer = current;
+        if (observer == null) {
+            return;
+        }
+        int count;
+        synchronized (demandLock) {
+            count = (int) (Math.min(demand, MAX_OUTSTANDING) - observer.outstanding);
+            if (count <= 0) {
+                return;
+            }
+            observer.outstanding += count;
+        }
+        observer.request(count);
+    }
+
+    private void consumeDemand() {
+        if (demand != Long.MAX_VALUE) {
+            demand--;
+        }
+    }
+
+    private void restoreDemand() {
+        synchronized (demandLock) {
+            if (demand != Long.MAX_VALUE) {
+                demand++;
+            }
+        }
+    }
+
+    /**
+     * The subscribe request, moved to the sequence following the last delivered event for EventsStore subscriptions.
+     */
+    private Kubemq.Subscribe resumeRequest() {
+        if (!eventsStore || lastSequence == 0) {
+            return innerSubscribeRequest;
+        }
+        return innerSubscribeRequest.toBuilder()
+                .setEventsStoreTypeData(Kubemq.Subscribe.EventsStoreType.StartAtSequence)
+                .setEventsStoreTypeValue(lastSequence + 1)
+                .build();
+    }
+
+    /**
+     * @return false if the event was dropped as already delivered.
+     */
+    private boolean deliver(Kubemq.EventReceive messageReceive) {
+        long sequence = messageReceive.getSequence();
+        if (eventsStore && sequence != 0 && sequence <= lastSequence) {
+            // Already delivered before the stream was re-opened
+            return false;
+        }
+        boolean delivered = true;
+        if (dedupCache != null && dedupCache.IsDuplicate(dedupKey(messageReceive))) {
+            logger.debug("Dropping duplicate event '{}' of channel '{}'", messageReceive.getEventID(), messageReceive.getChannel());
+            delivered = false;
+        } else {
+            streamObserver.onNext(new EventReceive(messageReceive));
+        }
+        if (sequence > lastSequence) {
+            lastSequence = sequence;
+        }
+        return delivered;
+    }
+
+    private void deliverOnDemand(EventsObserver source, Kubemq.EventReceive messageReceive) {
+        synchronized (demandLock) {
+            source.outstanding--;
+            parked.add(messageReceive);
+        }
+        releaseParked();
+        requestDemand();
+    }
+
+    /**
+     * Deliver the parked events while there is demand, in arrival order and by one thread at a time,
+     * so that an event parked by a replaced stream is neither lost nor overtaken by the next stream.
+     */
+    private void releaseParked() {
+        synchronized (demandLock) {
+            if (releasing) {
+                return;
+            }
+            releasing = true;
+        }
+        boolean done = false;
+        try {
+            while (true) {
+                Kubemq.EventReceive release;
+                synchronized (demandLock) {
+                    if (demand == 0 || parked.isEmpty()) {
+                        releasing = false;
+                        done = true;
+                        return;
+                    }
+                    release = parked.poll();
+                    consumeDemand();
+                }
+                if (!deliver(release)) {
+                    restoreDemand();
+                }
+            }
+        } finally {
+            if (!done) {
+                synchronized (demandLock) {
+                    releasing = false;
+                }
+            }
+        }
+    }
+
+    private static String dedupKey(Kubemq.EventReceive messageReceive) {
+        if (!messageReceive.getEventID().isEmpty()) {
+            return messageReceive.getEventID();
+        }
+        return messageReceive.getChannel() + "#" + messageReceive.getSequence();
+    }
+
+    /**
+     * Deliver the buffered events to the observer until the subscription ends.
+     */
+    private void drain() {
+        try {
+            while (true) {
+                DeliveryBuffer.Entry entry = buffer.take();
+                if (entry.isTerminal()) {
+                    if (entry.error == null) {
+                        streamObserver.onCompleted();
+                    } else {
+                        streamObserver.onError(entry.error);
+                    }
+                    return;
+                }
+                try {
+                    deliver(entry.message);
+                } catch (RuntimeException e) {
+                    logger.error("Event handler of channel '{}' failed: {}", innerSubscribeRequest.getChannel(), e.getMessage(), e);
+                }
+                entry.onDelivered.run();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            terminated.countDown();
+        }
+    }
+
+    private void reconnect() {
+        Exception error;
+        synchronized (this) {
+            pendingReconnect = null;
+            if (closed) {
+                return;
+            }
+            try {
+                open();
+                return;
+            } catch (ServerAddressNotSuppliedException | SSLException e) {
+                closed = true;
+                error = e;
+            }
+        }
+        terminate(error);
+    }
+
+    /**
+     * @param t Error of the stream, null if the server completed it.
+     */
+    private void failed(EventsObserver source, Throwable t) {
+        synchronized (this) {
+            if (closed || current != source) {
+                return;
+            }
+            current = null;
+
+            ReconnectPolicy policy = options.getReconnectPolicy();
+            if (policy != null && (t == null || isRetryable(t)) && policy.CanRetry(failedAttempts)) {
+                long delay = policy.NextDelayMillis(failedAttempts++);
+                logger.warn("Subscription to channel '{}' failed, re-subscribing in {}ms: {}",
+                        innerSubscribeRequest.getChannel(), delay, t == null ? "stream completed by the server" : t.getMessage());
+                pendingReconnect = scheduler.schedule(this::reconnect, delay, TimeUnit.MILLISECONDS);
+                return;
+            }
+            closed = true;
+        }
+        terminate(t);
+    }
+
+    /**
+     * @param t Error passed to the observer, null to complete it.
+     */
+    private void terminate(Throwable t) {
+        stopCheckpoints();
+        if (buffer != null) {
+            buffer.terminate(t);
+        } else {
+            if (t == null) {
+                streamObserver.onCompleted();
+            } else {
+                streamObserver.onError(t);
+            }
+            terminated.countDown();
+        }
+    }
+
+    /**
+     * Commit the sequence of the last delivered event, if it moved since the last commit.
+     */
+    private void commitCheckpoint() {
+        synchronized (checkpointLock) {
+            long sequence = lastSequence;
+            if (sequence <= committedSequence) {
+                return;
+            }
+            try {
+                checkpointStore.commit(innerSubscribeRequest.getClientID(), innerSubscribeRequest.getChannel(), sequence);
+                committedSequence = sequence;
+            } catch (IOException | RuntimeException e) {
+                logger.error("Failed to commit the checkpoint of channel '{}': {}", innerSubscribeRequest.getChannel(), e.getMessage());
+            }
+        }
+    }
+
+    private void stopCheckpoints() {
+        if (checkpointStore == null) {
+            return;
+        }
+        synchronized (this) {
+            if (checkpointTask != null) {
+                checkpointTask.cancel(false);
+            }
+        }
+        commitCheckpoint();
+    }
+
+    private static boolean isRetryable(Throwable t) {
+        switch (Status.fromThrowable(t).getCode()) {
+            case INVALID_ARGUMENT:
+            case UNAUTHENTICATED:
+            case PERMISSION_DENIED:
+            case UNIMPLEMENTED:
+                return false;
+            default:
+                return true;
+        }
+    }
+
+    private class EventsObserver implements ClientResponseObserver<Kubemq.Subscribe, Kubemq.EventReceive> {
+
+        private ClientCallStreamObserver<Kubemq.Subscribe> requestStream;
+        private boolean received;
+        // Events asked for and not received yet, guarded by demandLock; gRPC asks for one when starting the call
+        private long outstanding = 1;
+
+        @Override
+        public void beforeStart(ClientCallStreamObserver<Kubemq.Subscribe> requestStream) {
+            this.requestStream = requestStream;
+            if (buffer != null || demandDriven) {
+                requestStream.disableAutoInboundFlowControl();
+            }
+            synchronized (Subscription.this) {
+                current = this;
+            }
+        }
+
+        /**
+         * Ask the server for more events, unless this stream was replaced or closed meanwhile.
+         */
+        private void request(int count) {
+            if (count <= 0) {
+                return;
+            }
+            synchronized (this) {
+                if (current == this) {
+                    requestStream.request(count);
+                }
+            }
+        }
+
+        @Override
+        public void onNext(Kubemq.EventReceive messageReceive) {
+            if (!received) {
+                received = true;
+                synchronized (Subscription.this) {
+                    failedAttempts = 0;
+                }
+            }
+            subscriber.LogIncomingMessage(messageReceive);
+
+            if (demandDriven) {
+                deliverOnDemand(this, messageReceive);
+            } else if (buffer == null) {
+                deliver(messageReceive);
+            } else if (shedding) {
+                buffer.offer(messageReceive, NO_OP);
+                request(1);
+            } else {
+                held.incrementAndGet();
+                if (!buffer.offer(messageReceive, requestOne)) {
+                    // Cannot happen while the server respects flow control
+                    logger.warn("Subscription buffer of channel '{}' is full, dropping event '{}'",
+                            innerSubscribeRequest.getChannel(), messageReceive.getEventID());
+                    replenish();
+                }
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            failed(this, t);
+        }
+
+        @Override
+        public void onCompleted() {
+            // Re-subscribes under a reconnect policy, the observer is completed otherwise or once the policy gives up
+            failed(this, null);
+        }
+    }
+}
@@ -0,0 +1,382 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 KubeMQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.kubemq.sdk.event;
+
+import io.grpc.stub.StreamObserver;
+import io.kubemq.sdk.basic.ServerAddressNotSuppliedException;
+import io.kubemq.sdk.subscription.EventsStoreType;
+import io.kubemq.sdk.subscription.SubscribeRequest;
+import io.kubemq.sdk.subscription.SubscribeType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.net.ssl.SSLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Shares one subscription stream between all the in-process listeners of identical subscribe requests.
+ * Requests with the same subscribe type, channel, group and EventsStore start position use a single stream,
+ * opened by the first listener with its client ID, and closed once the last listener is closed.
+ * <p>
+ * Listeners joining an open EventsStore stream receive the events from the point they joined.
+ * All listeners receive the same EventReceive instances, so they must not modify them.
+ */
+public class SubscriptionHub {
+
+    private static Logger logger = LoggerFactory.getLogger(SubscriptionHub.class);
+
+    private final Subscriber subscriber;
+    private final SubscriptionOptions options;
+    private final ConcurrentHashMap<Key, SharedStream> streams = new ConcurrentHashMap<>();
+
+    /**
+     * Initializes a new SubscriptionHub opening streams with the default subscription options.
+     *
+     * @param subscriber Subscriber used to open the streams.
+     */
+    public SubscriptionHub(Subscriber subscriber) {
+        this(subscriber, null);
+    }
+
+    /**
+     * Initializes a new SubscriptionHub.
+     *
+     * @param subscriber Subscriber used to open the streams.
+     * @param options    Options of the streams, null for the defaults.
+     */
+    public SubscriptionHub(Subscriber subscriber, SubscriptionOptions options) {
+        this.subscriber = subscriber;
+        this.options = options;
+    }
+
+    /**
+     * Register a listener, opening the stream of the request unless an identical request is already streamed.
+     * Listeners of a stream being opened wait for it to open.
+     *
+     * @param subscribeRequest Parameters list represent by
+     *                         io.kubemq.sdk.Subscription.SubscribeRequest that will
+     *                         determine the subscription configuration.
+     * @param listener         Async StreamObserver to handle the events.
+     * @return Registration of the listener, closing it unregisters the listener.
+     * @throws ServerAddressNotSuppliedException Thrown exception when KubeMQ server
+     *                                           address can not be determined.
+     * @throws SSLException                      Indicates some kind of error
+     *                                           detected by an SSL subsystem.
+     */
+    public Registration Subscribe(SubscribeRequest subscribeRequest, StreamObserver<EventReceive> listener)
+            throws ServerAddressNotSuppliedException, SSLException {
+        Key key = new Key(subscribeRequest);
+        Member member = new Member(listener);
+        while (true) {
+            SharedStream stream = streams.get(key);
+            if (stream == null) {
+                // Register the listener first so it does not miss the first events
+                SharedStream created = new SharedStream(key);
+                created.join(member);
+                stream = streams.putIfAbsent(key, created);
+                if (stream == null) {
+                    created.open(subscribeRequest);
+                    return new Registration(created, member);
+                }
+            }
+            if (stream.join(member) && stream.awaitOpen()) {
+                return new Registration(stream, member);
+            }
+            // Closed or failed to open meanwhile, another stream replaces it
+            stream.leave(member);
+        }
+    }
+
+    /**
+     * @return Number of streams currently open.
+     */
+    public int getStreamCount() {
+        return streams.size();
+    }
+
+    private void unregister(SharedStream stream, Member member) {
+        Subscription unused = stream.leave(member);
+        member.complete();
+        if (unused != null) {
+            unused.close();
+        }
+    }
+
+    /**
+     * Registration of a listener, closing it unregisters the listener and completes it.
+     */
+    public final class Registration implements AutoCloseable {
+
+        private final SharedStream stream;
+        private final Member member;
+
+        private Registration(SharedStream stream, Member member) {
+            this.stream = stream;
+            this.member = member;
+        }
+
+        /**
+         * @return The subscription shared by the listeners of the stream.
+         */
+        public Subscription getSubscription() {
+            return stream.subscription;
+        }
+
+        /**
+         * @return Number of listeners sharing the stream.
+         */
+        public int getListenerCount() {
+            return stream.members.size();
+        }
+
+        @Override
+        public void close() {
+            unregister(stream, member);
+        }
+    }
+
+    /**
+     * Stream shared by the listeners of identical requests, fanning out its events to each of them.
+     */
+    private final class SharedStream implements StreamObserver<EventReceive> {
+
+        private final Key key;
+        private final CopyOnWriteArrayList<Member> members = new CopyOnWriteArrayList<>();
+        private final CountDownLatch opened = new CountDownLatch(1);
+        private volatile Subscription subscription;
+        // Guarded by this
+        private boolean closed;
+
+        private SharedStream(Key key) {
+            this.key = key;
+        }
+
+        /**
+         * Open the stream outside of any lock, so that a slow server only delays the listeners of this stream.
+         */
+        private void open(SubscribeRequest subscribeRequest) throws ServerAddressNotSuppliedException, SSLException {
+            Subscription shared;
+            try {
+                shared = subscriber.SubscribeToEvents(subscribeRequest, this, options);
+            } catch (ServerAddressNotSuppliedException | SSLException | RuntimeException e) {
+                synchronized (this) {
+                    closed = true;
+                    members.clear();
+                    streams.remove(key, this);
+                }
+                opened.countDown();
+                throw e;
+            }
+            boolean unused;
+            synchronized (this) {
+                subscription = shared;
+                unused = closed;
+            }
+            opened.countDown();
+            if (unused) {
+                // The last listener left while the stream was opening
+                shared.close();
+            }
+        }
+
+        /**
+         * @return false if the stream failed to open.
+         */
+        private boolean awaitOpen() {
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    opened.await();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            return subscription != null;
+        }
+
+        /**
+         * @return false if the stream was closed meanwhile.
+         */
+        private synchronized boolean join(Member member) {
+            if (closed) {
+                return false;
+            }
+            members.add(member);
+            return true;
+        }
+
+        /**
+         * @return The subscription to close, once the last listener left the stream.
+         */
+        private synchronized Subscription leave(Member member) {
+            if (!members.remove(member) || !members.isEmpty() || closed) {
+                return null;
+            }
+            closed = true;
+            streams.remove(key, this);
+            return subscription;
+        }
+
+        @Override
+        public void onNext(EventReceive value) {
+            for (Member member : members) {
+                try {
+                    member.onNext(value);
+                } catch (RuntimeException e) {
+                    logger.error("Listener of channel '{}' failed on event '{}': {}",
+                            key.channel, value.getEventId(), e.getMessage(), e);
+                }
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            for (Member member : ended()) {
+                member.fail(t);
+            }
+        }
+
+        @Override
+        public void onCompleted() {
+            for (Member member : ended()) {
+                member.complete();
+            }
+        }
+
+        private synchronized List<Member> ended() {
+            closed = true;
+            streams.remove(key, this);
+            List<Member> ended = new ArrayList<>(members);
+            members.clear();
+            return ended;
+        }
+    }
+
+    /**
+     * Listener of a shared stream. Its signals are serialized: a listener unregistered while handling an event
+     * is completed by the fan-out thread once the event is handled, and receives no event afterwards.
+     */
+    private static final class Member {
+
+        private final StreamObserver<EventReceive> listener;
+        // Guarded by this
+        private boolean delivering;
+        private boolean completing;
+        private boolean done;
+
+        private Member(StreamObserver<EventReceive> listener) {
+            this.listener = listener;
+        }
+
+        void onNext(EventReceive value) {
+            synchronized (this) {
+                if (done || completing) {
+                    return;
+                }
+                delivering = true;
+            }
+            try {
+                listener.onNext(value);
+            } finally {
+                boolean complete;
+                synchronized (this) {
+                    delivering = false;
+                    complete = completing && !done;
+                    done |= complete;
+                }
+                if (complete) {
+                    listener.onCompleted();
+                }
+            }
+        }
+
+        void complete() {
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                if (delivering) {
+                    // Completed by the fan-out thread once the event is handled
+                    completing = true;
+                    return;
+                }
+                done = true;
+            }
+            listener.onCompleted();
+        }
+
+        void fail(Throwable t) {
+            synchronized (this) {
+                if (done || completing) {
+                    return;
+                }
+                done = true;
+            }
+            listener.onError(t);
+        }
+    }
+
+    private static final class Key {
+
+        private final SubscribeType subscribeType;
+        private final String channel;
+        private final String group;
+        private final EventsStoreType eventsStoreType;
+        private final long eventsStoreTypeValue;
+
+        private Key(SubscribeRequest request) {
+            this.subscribeType = request.getSubscribeType();
+            this.channel = request.getChannel();
+            this.group = request.getGroup() == null ? "" : request.getGroup();
+            this.eventsStoreType = request.getEventsStoreType();
+            this.eventsStoreTypeValue = request.getEventsStoreTypeValue();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return subscribeType == other.subscribeType
+                    && Objects.equals(channel, other.channel)
+                    && group.equals(other.group)
+                    && eventsStoreType == other.eventsStoreType
+                    && eventsStoreTypeValue == other.eventsStoreTypeValue;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(subscribeType, channel, group, eventsStoreType, eventsStoreTypeValue);
+        }
+    }
+}
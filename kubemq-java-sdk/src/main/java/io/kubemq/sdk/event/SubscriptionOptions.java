@@ -0,0 +1,193 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 KubeMQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.kubemq.sdk.event;
+
+import io.kubemq.sdk.subscription.CheckpointStore;
+import io.kubemq.sdk.subscription.ReconnectPolicy;
+import io.kubemq.sdk.tools.DedupCache;
+
+/**
+ * Options of a subscription opened by Subscriber.SubscribeToEvents.
+ */
+public class SubscriptionOptions {
+
+    private ReconnectPolicy reconnectPolicy = ReconnectPolicy.getDefault();
+
+    private int prefetch;
+
+    private EventKeyExtractor keyExtractor;
+
+    private int parallelism;
+
+    private CheckpointStore checkpointStore;
+
+    private long checkpointIntervalMillis = 1000;
+
+    private DedupCache dedupCache;
+
+    private SheddingPolicy sheddingPolicy;
+
+    public SubscriptionOptions() {
+    }
+
+    SubscriptionOptions(SubscriptionOptions other) {
+        this.reconnectPolicy = other.reconnectPolicy;
+        this.prefetch = other.prefetch;
+        this.keyExtractor = other.keyExtractor;
+        this.parallelism = other.parallelism;
+        this.checkpointStore = other.checkpointStore;
+        this.checkpointIntervalMillis = other.checkpointIntervalMillis;
+        this.dedupCache = other.dedupCache;
+        this.sheddingPolicy = other.sheddingPolicy;
+    }
+
+    /**
+     * Backoff used to re-subscribe after the stream failed.
+     *
+     * @return Reconnect policy, null if the subscription does not reconnect.
+     */
+    public ReconnectPolicy getReconnectPolicy() {
+        return reconnectPolicy;
+    }
+
+    /**
+     * Backoff used to re-subscribe after the stream failed.
+     *
+     * @param reconnectPolicy Reconnect policy, null to end the subscription on the first stream error.
+     * @return this SubscriptionOptions
+     */
+    public SubscriptionOptions setReconnectPolicy(ReconnectPolicy reconnectPolicy) {
+        this.reconnectPolicy = reconnectPolicy;
+        return this;
+    }
+
+    /**
+     * Maximum number of events received ahead of the handler.
+     *
+     * @return Prefetch, 0 when events are delivered on the gRPC thread without flow control.
+     */
+    public int getPrefetch() {
+        return prefetch;
+    }
+
+    /**
+     * Maximum number of events received ahead of the handler.
+     * When set, the handler runs on a dedicated thread and the server is asked for one more event
+     * each time the handler returns, so a slow handler slows the server down instead of filling the heap.
+     *
+     * @param prefetch Prefetch, 0 to deliver the events on the gRPC thread without flow control.
+     * @return this SubscriptionOptions
+     */
+    public SubscriptionOptions setPrefetch(int prefetch) {
+        if (prefetch < 0) {
+            throw new IllegalArgumentException("Parameter prefetch must not be negative");
+        }
+        this.prefetch = prefetch;
+        return this;
+    }
+
+    public EventKeyExtractor getKeyExtractor() {
+        return keyExtractor;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Handle the events on a pool of worker threads through a KeyedDispatcher,
+     * keeping the order of the events sharing a key. The observer is then called concurrently.
+     *
+     * @param keyExtractor Extracts the ordering key of the events, such as EventKeyExtractor.byTag("id").
+     * @param parallelism  Number of worker threads, 0 to handle the events on a single thread.
+     * @return this SubscriptionOptions
+     */
+    public SubscriptionOptions setKeyedDispatch(EventKeyExtractor keyExtractor, int parallelism) {
+        if (parallelism < 0 || (parallelism > 0 && keyExtractor == null)) {
+            throw new IllegalArgumentException("A key extractor and a non negative parallelism are required");
+        }
+        this.keyExtractor = keyExtractor;
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    public CheckpointStore getCheckpointStore() {
+        return checkpointStore;
+    }
+
+    public long getCheckpointIntervalMillis() {
+        return checkpointIntervalMillis;
+    }
+
+    /**
+     * Store the sequence of the last delivered event of EventsStore subscriptions, to resume from it.
+     * The subscription starts at the sequence following the stored checkpoint, when there is one,
+     * and commits the sequence of the last delivered event every {@code intervalMillis} and when closed.
+     * With keyed dispatch an event counts as delivered once queued to its worker.
+     *
+     * @param checkpointStore Store of the checkpoints, null to not use checkpoints.
+     * @param intervalMillis  Interval between commits (Milliseconds).
+     * @return this SubscriptionOptions
+     */
+    public SubscriptionOptions setCheckpointStore(CheckpointStore checkpointStore, long intervalMillis) {
+        if (intervalMillis <= 0) {
+            throw new IllegalArgumentException("Parameter intervalMillis must be positive");
+        }
+        this.checkpointStore = checkpointStore;
+        this.checkpointIntervalMillis = intervalMillis;
+        return this;
+    }
+
+    public DedupCache getDedupCache() {
+        return dedupCache;
+    }
+
+    /**
+     * Drop the events already delivered, such as events redelivered after a reconnect.
+     * Events are identified by their EventID, or by their channel and sequence when they have no EventID.
+     *
+     * @param dedupCache Cache of the delivered events, null to deliver every event.
+     * @return this SubscriptionOptions
+     */
+    public SubscriptionOptions setDedupCache(DedupCache dedupCache) {
+        this.dedupCache = dedupCache;
+        return this;
+    }
+
+    public SheddingPolicy getSheddingPolicy() {
+        return sheddingPolicy;
+    }
+
+    /**
+     * Shed events when the handler falls behind instead of slowing the subscription down.
+     * Applies to subscriptions with a prefetch, whose buffer bounds the events waiting for the handler.
+     *
+     * @param sheddingPolicy Policy choosing the events to drop, null to deliver every event.
+     * @return this SubscriptionOptions
+     */
+    public SubscriptionOptions setSheddingPolicy(SheddingPolicy sheddingPolicy) {
+        this.sheddingPolicy = sheddingPolicy;
+        return this;
+    }
+}
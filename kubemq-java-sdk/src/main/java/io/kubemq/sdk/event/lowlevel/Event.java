@@ -25,19 +25,20 @@ package io.kubemq.sdk.event.lowlevel;
 
 import com.google.protobuf.ByteString;
 import io.kubemq.sdk.grpc.Kubemq;
+import io.kubemq.sdk.tools.Converter;
+import io.kubemq.sdk.tools.IDGenerator;
 import org.apache.commons.lang3.StringUtils;
 
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Represents the Event used in pubsub to send information using the KubeMQ
  */
 public class Event {
 
-    private static AtomicInteger _id = new AtomicInteger(0);
     private boolean returnResult;
     /**
      * Represents The channel name to send to using the KubeMQ
@@ -51,6 +52,10 @@ public class Event {
      * Represents The content of the Event
      */
     private byte[] body;
+    /**
+     * Represents The content of the Event, when set without copying
+     */
+    private ByteString bodyBytes;
     /**
      * Represents a Event identifier
      */
@@ -94,9 +99,9 @@ public class Event {
     Event(Kubemq.Event event) {
         channel = event.getChannel();
         metadata = event.getMetadata();
-        body = event.getBody().toByteArray();
+        bodyBytes = event.getBody();
         eventId = StringUtils.isEmpty(event.getEventID())
-                ? GetNextId().toString()
+                ? IDGenerator.Getid()
                 : event.getEventID();
         clientID = event.getClientID();
         tags = event.getTagsMap();
@@ -107,9 +112,9 @@ public class Event {
         return Kubemq.Event.newBuilder()
                 .setChannel(channel)
                 .setMetadata(Optional.ofNullable(metadata).orElse(""))
-                .setBody(ByteString.copyFrom(body))
+                .setBody(getBodyAsByteString())
                 .setEventID(StringUtils.isEmpty(eventId)
-                        ? GetNextId().toString()
+                        ? IDGenerator.Getid()
                         : eventId)
                 .setClientID(clientID)
                 .setStore(store)
@@ -117,15 +122,6 @@ public class Event {
                 .build();
     }
 
-    /**
-     * Get an unique thread safety ID between 1 to 32,767
-     *
-     * @return unique ID between 1 to 32,767
-     */
-    private Integer GetNextId() {
-        return _id.updateAndGet(i -> i == Integer.MAX_VALUE ? 1 : i + 1);
-    }
-
     public String getChannel() {
         return channel;
     }
@@ -142,12 +138,44 @@ public class Event {
         this.metadata = metadata;
     }
 
+    /**
+     * @return The body, copied from the ByteString it was set or received as on first call.
+     */
     public byte[] getBody() {
+        body = Converter.BodyAsByteArray(body, bodyBytes);
         return body;
     }
 
     public void setBody(byte[] body) {
         this.body = body;
+        this.bodyBytes = null;
+    }
+
+    /**
+     * Set the body without copying it.
+     *
+     * @param body The body.
+     */
+    public void setBody(ByteString body) {
+        this.bodyBytes = body;
+        this.body = null;
+    }
+
+    /**
+     * Set the body without copying it, see {@link Converter#WrapUnsafe(ByteBuffer)}.
+     *
+     * @param body The body.
+     */
+    public void setBody(ByteBuffer body) {
+        setBody(Converter.WrapUnsafe(body));
+    }
+
+    public ByteString getBodyAsByteString() {
+        return Converter.BodyAsByteString(body, bodyBytes);
+    }
+
+    public ByteBuffer getBodyAsByteBuffer() {
+        return Converter.BodyAsByteBuffer(body, bodyBytes);
     }
 
     public String getEventId() {
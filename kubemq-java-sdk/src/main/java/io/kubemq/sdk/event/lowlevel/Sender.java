@@ -23,6 +23,7 @@
  */
 package io.kubemq.sdk.event.lowlevel;
 
+import io.kubemq.sdk.basic.ClientOptions;
 import io.kubemq.sdk.basic.GrpcClient;
 import io.kubemq.sdk.basic.ServerAddressNotSuppliedException;
 import io.kubemq.sdk.event.Result;
@@ -32,6 +33,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.net.ssl.SSLException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Represents the instance that is responsible to send messages to the kubemq.
@@ -40,6 +48,25 @@ public class Sender extends GrpcClient {
 
     private static Logger logger = LoggerFactory.getLogger(Sender.class);
 
+    /**
+     * Time SendEventAsync waits for the result of an event before failing its future.
+     */
+    public static final long DEFAULT_RESULT_TIMEOUT_MILLIS = 30000;
+
+    private static final ScheduledThreadPoolExecutor resultTimeouts = newResultTimeouts();
+
+    private final Object eventsStreamLock = new Object();
+
+    /**
+     * Long lived stream reused by every StreamEventWithoutResponse and SendEventAsync call, opened on first use.
+     */
+    private EventsStreamObserver eventsStream;
+
+    /**
+     * Events sent by SendEventAsync still waiting for their result, by EventID.
+     */
+    private final Map<String, PendingResult> pendingResults = new ConcurrentHashMap<>();
+
     /**
      * Initialize a new Sender.
      * KubeMQAddress will be parsed from Config or environment parameter.
@@ -54,6 +81,17 @@ public class Sender extends GrpcClient {
      * @param KubeMQAddress KubeMQ server address.
      */
     public Sender(String KubeMQAddress) {
+        this(KubeMQAddress, null);
+    }
+
+    /**
+     * Initialize a new Sender under the requested KubeMQ Server Address.
+     *
+     * @param KubeMQAddress KubeMQ server address, null to take it from the client options or configuration.
+     * @param clientOptions Connection and transport options.
+     */
+    public Sender(String KubeMQAddress, ClientOptions clientOptions) {
+        super(clientOptions);
         this._kubemqAddress = KubeMQAddress;
     }
 
@@ -66,7 +104,18 @@ public class Sender extends GrpcClient {
      * @throws SSLException                      Indicates some kind of error detected by an SSL subsystem.
      */
     public Result SendEvent(Event notification) throws ServerAddressNotSuppliedException, SSLException {
-        Kubemq.Event event = notification.ToInnerEvent();
+        return SendEvent(notification.ToInnerEvent());
+    }
+
+    /**
+     * Publish a single message already converted to its wire form.
+     *
+     * @param event Event to add to the queue
+     * @return io.kubemq.sdk.event.MessageDeliveryReport that contain info regarding message status.
+     * @throws ServerAddressNotSuppliedException KubeMQ server address can not be determined.
+     * @throws SSLException                      Indicates some kind of error detected by an SSL subsystem.
+     */
+    public Result SendEvent(Kubemq.Event event) throws ServerAddressNotSuppliedException, SSLException {
         Kubemq.Result innerResult = GetKubeMQClient().sendEvent(event);
 
         if (innerResult == null) {
@@ -85,7 +134,92 @@ public class Sender extends GrpcClient {
      */
     public void StreamEventWithoutResponse(Event notification) throws ServerAddressNotSuppliedException, SSLException {
         notification.setReturnResult(false);
-        GetKubeMQAsyncClient().sendEventsStream(null).onNext(notification.ToInnerEvent());
+        writeEvent(notification.ToInnerEvent(), null);
+    }
+
+    /**
+     * Publish a single message over the long lived events stream, without waiting for its result.
+     * The returned future completes with the result the server reports for the event's EventID,
+     * or exceptionally with a TimeoutException after {@link #DEFAULT_RESULT_TIMEOUT_MILLIS}.
+     * The server reports no result for events that are not stored, their future completes as sent
+     * once the event is written on the stream.
+     *
+     * @param notification Event to publish.
+     * @return Future completed with the delivery report of the event.
+     * @throws ServerAddressNotSuppliedException KubeMQ server address can not be determined.
+     * @throws SSLException                      Indicates some kind of error detected by an SSL subsystem.
+     */
+    public CompletableFuture<Result> SendEventAsync(Event notification) throws ServerAddressNotSuppliedException, SSLException {
+        return SendEventAsync(notification, DEFAULT_RESULT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Publish a single message over the long lived events stream, without waiting for its result.
+     * The returned future completes with the result the server reports for the event's EventID,
+     * or exceptionally with a TimeoutException when no result arrives within {@code timeout},
+     * or when the stream fails. The server reports no result for events that are not stored,
+     * their future completes as sent once the event is written on the stream. Futures are completed on a gRPC thread,
+     * use the async variants of CompletableFuture to run long actions on them.
+     *
+     * @param notification Event to publish.
+     * @param timeout      Maximum time to wait for the result.
+     * @param unit         Time unit of the timeout.
+     * @return Future completed with the delivery report of the event.
+     * @throws ServerAddressNotSuppliedException KubeMQ server address can not be determined.
+     * @throws SSLException                      Indicates some kind of error detected by an SSL subsystem.
+     */
+    public CompletableFuture<Result> SendEventAsync(Event notification, long timeout, TimeUnit unit) throws ServerAddressNotSuppliedException, SSLException {
+        return SendEventAsync(notification.ToInnerEvent(), timeout, unit);
+    }
+
+    /**
+     * Publish a single message already converted to its wire form over the long lived events stream,
+     * without waiting for its result.
+     *
+     * @param event   Event to publish, its EventID must be set.
+     * @param timeout Maximum time to wait for the result.
+     * @param unit    Time unit of the timeout.
+     * @return Future completed with the delivery report of the event.
+     * @throws ServerAddressNotSuppliedException KubeMQ server address can not be determined.
+     * @throws SSLException                      Indicates some kind of error detected by an SSL subsystem.
+     */
+    public CompletableFuture<Result> SendEventAsync(Kubemq.Event event, long timeout, TimeUnit unit) throws ServerAddressNotSuppliedException, SSLException {
+        String eventId = event.getEventID();
+
+        if (!event.getStore()) {
+            // No result is sent back for events that are not stored
+            writeEvent(event, null);
+            Result result = new Result();
+            result.setEventId(eventId);
+            result.setSent(true);
+            result.setError("");
+            return CompletableFuture.completedFuture(result);
+        }
+
+        PendingResult pending = new PendingResult();
+        CompletableFuture<Result> future = pending.future;
+        if (pendingResults.putIfAbsent(eventId, pending) != null) {
+            future.completeExceptionally(new IllegalStateException(
+                    "An event with EventID '" + eventId + "' is already waiting for its result"));
+            return future;
+        }
+
+        ScheduledFuture<?> expiry = resultTimeouts.schedule(() -> {
+            if (pendingResults.remove(eventId, pending)) {
+                future.completeExceptionally(new TimeoutException(
+                        "No result received for event '" + eventId + "' within " + unit.toMillis(timeout) + "ms"));
+            }
+        }, timeout, unit);
+        future.whenComplete((result, t) -> expiry.cancel(false));
+
+        try {
+            writeEvent(event, pending);
+        } catch (ServerAddressNotSuppliedException | SSLException | RuntimeException e) {
+            pendingResults.remove(eventId, pending);
+            future.completeExceptionally(e);
+            throw e;
+        }
+        return future;
     }
 
     /**
@@ -97,7 +231,38 @@ public class Sender extends GrpcClient {
      * @throws SSLException                      Indicates some kind of error detected by an SSL subsystem.
      */
     public StreamObserver<Event> StreamEvent(final StreamObserver<Result> messageDeliveryReportStreamObserver) throws ServerAddressNotSuppliedException, SSLException {
-        StreamObserver<Kubemq.Event> streamObserver = GetKubeMQAsyncClient().sendEventsStream(new StreamObserver<Kubemq.Result>() {
+        StreamObserver<Kubemq.Event> streamObserver = StreamInnerEvent(messageDeliveryReportStreamObserver);
+
+        return new StreamObserver<Event>() {
+            @Override
+            public void onNext(Event notification) {
+               // if (notification.isReturnResult()) {
+                    streamObserver.onNext(notification.ToInnerEvent());
+              //  }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                streamObserver.onError(t);
+            }
+
+            @Override
+            public void onCompleted() {
+                streamObserver.onCompleted();
+            }
+        };
+    }
+
+    /**
+     * Publish a constant stream of messages already converted to their wire form.
+     *
+     * @param messageDeliveryReportStreamObserver Observer for Delivery Reports.
+     * @return StreamObserver used to stream messages
+     * @throws ServerAddressNotSuppliedException KubeMQ server address can not be determined.
+     * @throws SSLException                      Indicates some kind of error detected by an SSL subsystem.
+     */
+    public StreamObserver<Kubemq.Event> StreamInnerEvent(final StreamObserver<Result> messageDeliveryReportStreamObserver) throws ServerAddressNotSuppliedException, SSLException {
+        return GetKubeMQAsyncClient().sendEventsStream(new StreamObserver<Kubemq.Result>() {
             @Override
             public void onNext(Kubemq.Result value) {
                 LogResponse(value);
@@ -121,25 +286,132 @@ public class Sender extends GrpcClient {
                 messageDeliveryReportStreamObserver.onCompleted();
             }
         });
+    }
 
-        return new StreamObserver<Event>() {
-            @Override
-            public void onNext(Event notification) {
-               // if (notification.isReturnResult()) {
-                    streamObserver.onNext(notification.ToInnerEvent());
-              //  }
+    /**
+     * Complete the events stream and release the connection used by this Sender.
+     *
+     * @throws InterruptedException if interrupted while waiting for the channel termination.
+     */
+    @Override
+    public void shutdown() throws InterruptedException {
+        synchronized (eventsStreamLock) {
+            if (eventsStream != null) {
+                eventsStream.requestStream.onCompleted();
+                eventsStream = null;
             }
+        }
+        super.shutdown();
+        failPendingResults(null, new IllegalStateException("Sender was shut down before the result was received"));
+    }
 
-            @Override
-            public void onError(Throwable t) {
-                streamObserver.onError(t);
+    /**
+     * @param pending Result the event waits for, recording the stream it is sent on; null when no result is awaited.
+     */
+    private void writeEvent(Kubemq.Event event, PendingResult pending) throws ServerAddressNotSuppliedException, SSLException {
+        synchronized (eventsStreamLock) {
+            try {
+                writeEvent(getEventsStream(), event, pending);
+            } catch (IllegalStateException e) {
+                // The stream was closed before its error was reported, open a new one
+                eventsStream = null;
+                writeEvent(getEventsStream(), event, pending);
             }
+        }
+    }
 
-            @Override
-            public void onCompleted() {
-                streamObserver.onCompleted();
+    private void writeEvent(EventsStreamObserver stream, Kubemq.Event event, PendingResult pending) {
+        if (pending != null) {
+            pending.stream = stream;
+        }
+        stream.requestStream.onNext(event);
+    }
+
+    /**
+     * Fail the futures of the events sent on a stream.
+     *
+     * @param stream Stream the events were sent on, null for every stream.
+     * @param cause  Exception completing the futures.
+     */
+    private void failPendingResults(EventsStreamObserver stream, Throwable cause) {
+        for (Map.Entry<String, PendingResult> entry : pendingResults.entrySet()) {
+            PendingResult pending = entry.getValue();
+            if ((stream == null || pending.stream == stream) && pendingResults.remove(entry.getKey(), pending)) {
+                pending.future.completeExceptionally(cause);
             }
-        };
+        }
+    }
+
+    private static ScheduledThreadPoolExecutor newResultTimeouts() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "kubemq-event-result-timeouts");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+
+    private EventsStreamObserver getEventsStream() throws ServerAddressNotSuppliedException, SSLException {
+        if (eventsStream == null) {
+            EventsStreamObserver observer = new EventsStreamObserver();
+            observer.requestStream = GetKubeMQAsyncClient().sendEventsStream(observer);
+            eventsStream = observer;
+        }
+        return eventsStream;
+    }
+
+    /**
+     * Future of an event sent by SendEventAsync, with the stream the event was sent on.
+     */
+    private static final class PendingResult {
+
+        private final CompletableFuture<Result> future = new CompletableFuture<>();
+        // Guarded by eventsStreamLock
+        private EventsStreamObserver stream;
+    }
+
+    /**
+     * Receives the results of the long lived events stream, completing the matching SendEventAsync futures,
+     * and drops the stream once it is closed so the next event re-opens it.
+     */
+    private class EventsStreamObserver implements StreamObserver<Kubemq.Result> {
+
+        private StreamObserver<Kubemq.Event> requestStream;
+
+        @Override
+        public void onNext(Kubemq.Result value) {
+            PendingResult pending = pendingResults.remove(value.getEventID());
+            if (pending != null) {
+                pending.future.complete(new Result(value));
+            } else if (!value.getSent()) {
+                logger.warn("Event '{}' was not sent: {}", value.getEventID(), value.getError());
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            logger.warn("Events stream closed with error, it will be re-opened on next event: {}", t.getMessage());
+            closed(t);
+        }
+
+        @Override
+        public void onCompleted() {
+            logger.trace("Events stream completed.");
+            closed(new IllegalStateException("Events stream completed before the result was received"));
+        }
+
+        /**
+         * Fail the futures of the events sent on this stream, whether or not it was replaced already.
+         */
+        private void closed(Throwable cause) {
+            synchronized (eventsStreamLock) {
+                if (eventsStream == this) {
+                    eventsStream = null;
+                }
+                failPendingResults(this, cause);
+            }
+        }
     }
 
     private void LogResponse(Kubemq.Result response) {
@@ -28,7 +28,9 @@ import io.kubemq.sdk.grpc.Kubemq;
 import io.kubemq.sdk.grpc.Kubemq.QueueMessage;
 import io.kubemq.sdk.grpc.Kubemq.QueueMessageAttributes;
 import io.kubemq.sdk.grpc.Kubemq.QueueMessagePolicy;
+import io.kubemq.sdk.tools.Converter;
 import io.kubemq.sdk.tools.IDGenerator;
+import java.nio.ByteBuffer;
 import java.util.Map;
 
 /**
@@ -40,6 +42,7 @@ public class Message {
   private String clientID;
   private String metadata;
   private byte[] body;
+  private ByteString bodyBytes;
   private QueueMessageAttributes attributes;
   private QueueMessagePolicy policy;
   private Map<String, String> tags;
@@ -72,7 +75,7 @@ public class Message {
     this.policy = queueMessage.getPolicy();
     this.clientID = queueMessage.getClientID();
     this.metadata = queueMessage.getMetadata();
-    this.body = queueMessage.getBody().toByteArray();
+    this.bodyBytes = queueMessage.getBody();
     this.tags = queueMessage.getTagsMap();
     this.queueName = queueMessage.getChannel();
     this.messageID =queueMessage.getMessageID();
@@ -153,6 +156,7 @@ public class Message {
    * @return Message encoded body
    */
   public byte[] getBody() {
+    this.body = Converter.BodyAsByteArray(this.body, this.bodyBytes);
     return this.body;
   }
 
@@ -164,9 +168,40 @@ public class Message {
    */
   public Message setBody(byte[] body) {
     this.body = body;
+    this.bodyBytes = null;
     return this;
   }
 
+  /**
+   * The information that you want to pass, sent as is without copying.
+   * 
+   * @param body Message encoded body
+   * @return this Message
+   */
+  public Message setBody(ByteString body) {
+    this.bodyBytes = body;
+    this.body = null;
+    return this;
+  }
+
+  /**
+   * The information that you want to pass, sent without copying, see {@link Converter#WrapUnsafe(ByteBuffer)}.
+   * 
+   * @param body Message encoded body
+   * @return this Message
+   */
+  public Message setBody(ByteBuffer body) {
+    return setBody(Converter.WrapUnsafe(body));
+  }
+
+  public ByteString getBodyAsByteString() {
+    return Converter.BodyAsByteString(this.body, this.bodyBytes);
+  }
+
+  public ByteBuffer getBodyAsByteBuffer() {
+    return Converter.BodyAsByteBuffer(this.body, this.bodyBytes);
+  }
+
   /**
    * A set of Key value pair that help categorize the message.
    * 
@@ -268,7 +303,7 @@ public class Message {
   protected QueueMessage toQueueMessage() {
     Kubemq.QueueMessage tempmsg = Kubemq.QueueMessage.newBuilder()
         .setMessageID(this.messageID == null ? IDGenerator.Getid() : this.getMessageID()).setClientID(this.clientID)
-        .setChannel(this.queueName).setBody(ByteString.copyFrom(this.body))
+        .setChannel(this.queueName).setBody(getBodyAsByteString())
         .setMetadata(this.metadata==null ? "" : this.metadata )
         .setPolicy(this.policy==null ? Kubemq.QueueMessagePolicy.getDefaultInstance() : this.policy)
         .setAttributes(this.attributes==null ? Kubemq.QueueMessageAttributes.getDefaultInstance() : this.attributes)
@@ -23,11 +23,13 @@
  */
 package io.kubemq.sdk.queue;
 
+import io.kubemq.sdk.basic.ClientOptions;
 import io.kubemq.sdk.basic.GrpcClient;
 import io.kubemq.sdk.basic.ServerAddressNotSuppliedException;
 
 import io.kubemq.sdk.grpc.Kubemq;
 import io.kubemq.sdk.tools.Converter;
+import io.kubemq.sdk.tools.DedupCache;
 import io.kubemq.sdk.tools.IDGenerator;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -48,6 +50,7 @@ public class Queue extends GrpcClient {
     private int maxNumberOfMessagesQueueMessages = 32;
     private int waitTimeSecondsQueueMessages = 1;
     private Transaction transaction;
+    private DedupCache dedupCache;
     private static Logger logger = LoggerFactory.getLogger(Queue.class);
 
     /**
@@ -71,6 +74,32 @@ public class Queue extends GrpcClient {
     public Queue(String queueName, String clientID, Integer maxNumberOfMessagesQueueMessages,
             Integer waitTimeSecondsQueueMessages, String kubeMQAddress)
             throws SSLException, ServerAddressNotSuppliedException {
+        this(queueName, clientID, maxNumberOfMessagesQueueMessages, waitTimeSecondsQueueMessages, kubeMQAddress, null);
+    }
+
+    /**
+     * Distributed durable FIFO based queues with the following core
+     * 
+     * @param queueName                        Represents The FIFO queue name to
+     *                                         send to using the KubeMQ.
+     * @param clientID                         Represents the sender ID that the
+     *                                         messages will be send under.
+     * @param maxNumberOfMessagesQueueMessages Number of received messages in
+     *                                         request.
+     * @param waitTimeSecondsQueueMessages     Wait time for received messages.
+     * @param kubeMQAddress                    The address the of the KubeMQ
+     *                                         including the GRPC Port ,Example:
+     *                                         "LocalHost:50000".
+     * @param clientOptions                    Connection and transport options.
+     * @throws SSLException                      Indicates some kind of error
+     *                                           detected by an SSL subsystem.
+     * @throws ServerAddressNotSuppliedException KubeMQ server address can not be
+     *                                           determined.
+     */
+    public Queue(String queueName, String clientID, Integer maxNumberOfMessagesQueueMessages,
+            Integer waitTimeSecondsQueueMessages, String kubeMQAddress, ClientOptions clientOptions)
+            throws SSLException, ServerAddressNotSuppliedException {
+        super(clientOptions);
         this.queueName = queueName;
         this.clientID = clientID;
         this._kubemqAddress = kubeMQAddress;
@@ -95,6 +124,27 @@ public class Queue extends GrpcClient {
      */
     public Queue(String queueName, String clientID, String kubeMQAddress)
             throws SSLException, ServerAddressNotSuppliedException {
+        this(queueName, clientID, kubeMQAddress, null);
+    }
+
+    /**
+     * Distributed durable FIFO based queues with the following core
+     * 
+     * @param queueName     Represents The FIFO queue name to send to using the
+     *                      KubeMQ.
+     * @param clientID      Represents the sender ID that the messages will be send
+     *                      under.
+     * @param kubeMQAddress The address the of the KubeMQ including the GRPC Port
+     *                      ,Example: "LocalHost:50000".
+     * @param clientOptions Connection and transport options.
+     * @throws SSLException                      Indicates some kind of error
+     *                                           detected by an SSL subsystem.
+     * @throws ServerAddressNotSuppliedException KubeMQ server address can not be
+     *                                           determined.
+     */
+    public Queue(String queueName, String clientID, String kubeMQAddress, ClientOptions clientOptions)
+            throws SSLException, ServerAddressNotSuppliedException {
+        super(clientOptions);
         this.queueName = queueName;
         this.clientID = clientID;
         this._kubemqAddress = kubeMQAddress;
@@ -176,6 +226,9 @@ public class Queue extends GrpcClient {
                         .setMaxNumberOfMessages(maxNumberOfMessagesQueueMessages)
                         .setWaitTimeSeconds(this.waitTimeSecondsQueueMessages).build());
 
+        if (dedupCache != null && rec.getMessagesCount() > 0) {
+            rec = dropDuplicates(rec);
+        }
         return new ReceiveMessagesResponse(rec);
     }
 
@@ -294,6 +347,26 @@ public class Queue extends GrpcClient {
         this.waitTimeSecondsQueueMessages = waitTimeSecondsQueueMessages;
     }
 
+    /**
+     * Cache of the processed message IDs, used to drop redelivered messages.
+     *
+     * @return The cache, null if duplicates are not dropped.
+     */
+    public DedupCache getDedupCache() {
+        return dedupCache;
+    }
+
+    /**
+     * Drop the messages already received, identified by their MessageID.
+     * ReceiveQueueMessages leaves them out of the response, and transactions acknowledge them
+     * without returning them. Transactions record a message once acknowledged.
+     *
+     * @param dedupCache Cache of the processed message IDs, null to return every message.
+     */
+    public void setDedupCache(DedupCache dedupCache) {
+        this.dedupCache = dedupCache;
+    }
+
     /**
      * Advance manipulation of messages using stream
      * 
@@ -308,6 +381,21 @@ public class Queue extends GrpcClient {
         return transaction;
     }
 
+    private Kubemq.ReceiveQueueMessagesResponse dropDuplicates(Kubemq.ReceiveQueueMessagesResponse rec) {
+        Collection<Kubemq.QueueMessage> messages = new ArrayList<Kubemq.QueueMessage>(rec.getMessagesCount());
+        for (Kubemq.QueueMessage message : rec.getMessagesList()) {
+            if (dedupCache.IsDuplicate(message.getMessageID())) {
+                logger.debug("Dropping duplicate message '{}' of queue '{}'", message.getMessageID(), queueName);
+            } else {
+                messages.add(message);
+            }
+        }
+        if (messages.size() == rec.getMessagesCount()) {
+            return rec;
+        }
+        return rec.toBuilder().clearMessages().addAllMessages(messages).build();
+    }
+
     private  Iterable<? extends Kubemq.QueueMessage> toQueueMessages(Iterable<Message> queueMessages) {
         Collection<Kubemq.QueueMessage> cltn = new ArrayList<Kubemq.QueueMessage>(); 
 
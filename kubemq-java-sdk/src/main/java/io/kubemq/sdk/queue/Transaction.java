@@ -35,6 +35,7 @@ import io.kubemq.sdk.grpc.Kubemq;
 import io.kubemq.sdk.grpc.Kubemq.QueueMessage;
 import io.kubemq.sdk.grpc.Kubemq.StreamQueueMessagesRequest;
 import io.kubemq.sdk.grpc.Kubemq.StreamQueueMessagesResponse;
+import io.kubemq.sdk.tools.DedupCache;
 import io.kubemq.sdk.tools.IDGenerator;
 
 /**
@@ -68,6 +69,7 @@ public class Transaction extends GrpcClient {
     }
 
     protected Transaction(Queue queue) throws ServerAddressNotSuppliedException {
+        super(queue.getClientOptions());
         this.queue = queue;
         this._kubemqAddress = queue.getServerAddress();
     }
@@ -92,12 +94,20 @@ public class Transaction extends GrpcClient {
         Kubemq.StreamQueueMessagesResponse resp;
         OpenStream();
 
-        resp = StreamQueueMessage(Kubemq.StreamQueueMessagesRequest.newBuilder().setClientID(this.queue.getClientID())
-                .setChannel(this.queue.getQueueName()).setRequestID(IDGenerator.Getid())
-                .setStreamRequestTypeData(Kubemq.StreamRequestType.ReceiveMessage)
-                .setVisibilitySeconds(visibilitySeconds).setWaitTimeSeconds(waitTimeSeconds).build());
+        DedupCache dedupCache = queue.getDedupCache();
+        while (true) {
+            resp = StreamQueueMessage(Kubemq.StreamQueueMessagesRequest.newBuilder().setClientID(this.queue.getClientID())
+                    .setChannel(this.queue.getQueueName()).setRequestID(IDGenerator.Getid())
+                    .setStreamRequestTypeData(Kubemq.StreamRequestType.ReceiveMessage)
+                    .setVisibilitySeconds(visibilitySeconds).setWaitTimeSeconds(waitTimeSeconds).build());
 
-        return new TransactionMessagesResponse(resp);
+            if (dedupCache == null || msg == null || !dedupCache.Contains(msg.getMessage().getMessageID())) {
+                return new TransactionMessagesResponse(resp);
+            }
+            // Already processed, acknowledge the redelivery and receive the next message
+            AckMessage();
+            msg = null;
+        }
 
     }
 
@@ -121,6 +131,10 @@ public class Transaction extends GrpcClient {
                 .setStreamRequestTypeData(Kubemq.StreamRequestType.AckMessage)
                 .setRefSequence(msg.getMessage().getAttributes().getSequence()).build());
 
+        DedupCache dedupCache = queue.getDedupCache();
+        if (dedupCache != null && resp != null && !resp.getIsError()) {
+            dedupCache.Add(msg.getMessage().getMessageID());
+        }
         return new TransactionMessagesResponse(resp);
     }
 
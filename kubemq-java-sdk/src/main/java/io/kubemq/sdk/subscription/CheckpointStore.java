@@ -0,0 +1,53 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 KubeMQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.kubemq.sdk.subscription;
+
+import java.io.IOException;
+
+/**
+ * Stores the sequence of the last event processed by an EventsStore subscriber,
+ * so it can resume after it where it left off.
+ */
+public interface CheckpointStore {
+
+    /**
+     * Get the last committed sequence of a subscriber.
+     *
+     * @param clientID Client ID of the subscriber.
+     * @param channel  Channel of the subscription.
+     * @return Last committed sequence, 0 if none was committed.
+     * @throws IOException if the store can not be read.
+     */
+    long load(String clientID, String channel) throws IOException;
+
+    /**
+     * Record the sequence of the last processed event of a subscriber.
+     *
+     * @param clientID Client ID of the subscriber.
+     * @param channel  Channel of the subscription.
+     * @param sequence Sequence of the last processed event.
+     * @throws IOException if the store can not be written.
+     */
+    void commit(String clientID, String channel, long sequence) throws IOException;
+}
@@ -0,0 +1,195 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 KubeMQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.kubemq.sdk.subscription;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * CheckpointStore keeping the checkpoints in a local append-only log, written through a memory mapped file.
+ * Each commit appends a record {@code [key length][clientID \0 channel][sequence]}, whose length is written last
+ * so a record interrupted by a crash is ignored. Once the records superseded by a later commit of the same subscriber
+ * take more than half of the file, or when the file is full, the log is compacted into a new file,
+ * holding only the latest sequence of each subscriber, which atomically replaces the old one.
+ * The compacted file is sized after the live records, so it also shrinks back once it grew.
+ * <p>
+ * Records reach the operating system as soon as they are committed, so they survive a crash of the process;
+ * call {@link #flush()} to also write them to the disk.
+ */
+public class MappedFileCheckpointStore implements CheckpointStore, Closeable {
+
+    private static final int MIN_SIZE = 64 * 1024;
+    private static final int RECORD_OVERHEAD = 4 + 8;
+
+    private final Path path;
+    private final Map<String, Long> sequences = new HashMap<>();
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int position;
+    // Bytes of the records superseded by a later record of the same subscriber
+    private int deadBytes;
+
+    /**
+     * Open the checkpoint log at {@code path}, creating it when missing.
+     *
+     * @param path Path of the log file.
+     * @throws IOException if the file can not be opened or mapped.
+     */
+    public MappedFileCheckpointStore(Path path) throws IOException {
+        this.path = path;
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(channel.size(), MIN_SIZE));
+        readLog();
+    }
+
+    /**
+     * Open the checkpoint log at {@code path}, creating it when missing.
+     *
+     * @param path Path of the log file.
+     * @throws IOException if the file can not be opened or mapped.
+     */
+    public MappedFileCheckpointStore(String path) throws IOException {
+        this(Paths.get(path));
+    }
+
+    @Override
+    public synchronized long load(String clientID, String channel) {
+        Long sequence = sequences.get(key(clientID, channel));
+        return sequence == null ? 0 : sequence;
+    }
+
+    @Override
+    public synchronized void commit(String clientID, String channel, long sequence) throws IOException {
+        String key = key(clientID, channel);
+        Long previous = sequences.put(key, sequence);
+        if (previous != null && previous == sequence) {
+            return;
+        }
+
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        if (position + RECORD_OVERHEAD + keyBytes.length > buffer.capacity()) {
+            // The compacted log includes the new sequence
+            compact();
+            return;
+        }
+        position = write(buffer, position, keyBytes, sequence);
+        if (previous != null) {
+            deadBytes += RECORD_OVERHEAD + keyBytes.length;
+            if (deadBytes > buffer.capacity() / 2) {
+                compact();
+            }
+        }
+    }
+
+    /**
+     * Rewrite the log with only the latest sequence of each subscriber.
+     *
+     * @throws IOException if the compacted log can not be written.
+     */
+    public synchronized void compact() throws IOException {
+        int live = 0;
+        for (String key : sequences.keySet()) {
+            live += RECORD_OVERHEAD + key.getBytes(StandardCharsets.UTF_8).length;
+        }
+        long size = MIN_SIZE;
+        while (size < 2L * live) {
+            size *= 2;
+        }
+
+        Path compacted = path.resolveSibling(path.getFileName() + ".compact");
+        int end = 0;
+        try (FileChannel out = FileChannel.open(compacted, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer target = out.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            for (Map.Entry<String, Long> entry : sequences.entrySet()) {
+                end = write(target, end, entry.getKey().getBytes(StandardCharsets.UTF_8), entry.getValue());
+            }
+            target.force();
+        }
+
+        channel.close();
+        Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        position = end;
+        deadBytes = 0;
+    }
+
+    /**
+     * Write the committed records to the disk.
+     */
+    public synchronized void flush() {
+        buffer.force();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    private void readLog() {
+        ByteBuffer log = buffer.duplicate();
+        int pos = 0;
+        while (pos + RECORD_OVERHEAD <= log.capacity()) {
+            int length = log.getInt(pos);
+            if (length <= 0 || pos + RECORD_OVERHEAD + length > log.capacity()) {
+                break;
+            }
+            byte[] keyBytes = new byte[length];
+            log.position(pos + 4);
+            log.get(keyBytes);
+            if (sequences.put(new String(keyBytes, StandardCharsets.UTF_8), log.getLong()) != null) {
+                deadBytes += RECORD_OVERHEAD + length;
+            }
+            pos += RECORD_OVERHEAD + length;
+        }
+        position = pos;
+    }
+
+    private static int write(MappedByteBuffer target, int pos, byte[] keyBytes, long sequence) {
+        ByteBuffer record = target.duplicate();
+        record.position(pos + 4);
+        record.put(keyBytes);
+        record.putLong(sequence);
+        // The length marks the record as complete
+        target.putInt(pos, keyBytes.length);
+        return pos + RECORD_OVERHEAD + keyBytes.length;
+    }
+
+    private static String key(String clientID, String channel) {
+        return clientID + '\u0000' + channel;
+    }
+}
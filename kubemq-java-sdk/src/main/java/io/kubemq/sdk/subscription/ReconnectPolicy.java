@@ -0,0 +1,137 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 KubeMQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.kubemq.sdk.subscription;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Jittered exponential backoff used to re-subscribe after a subscription stream failed.
+ * The delay before attempt n is {@code min(maxDelay, initialDelay * multiplier^n)},
+ * reduced by a random fraction of up to {@code jitter} so reconnecting clients spread their attempts.
+ */
+public class ReconnectPolicy {
+
+    private static final ReconnectPolicy DEFAULT = new ReconnectPolicy(100, 30000, 2.0, 0.5, 0);
+
+    /**
+     * Delay before the first re-subscribe attempt (Milliseconds).
+     */
+    private final long initialDelayMillis;
+
+    /**
+     * Upper bound of the delay between attempts (Milliseconds).
+     */
+    private final long maxDelayMillis;
+
+    /**
+     * Factor applied to the delay after every failed attempt.
+     */
+    private final double multiplier;
+
+    /**
+     * Fraction of the delay, between 0 and 1, that is randomly removed from it.
+     */
+    private final double jitter;
+
+    /**
+     * Number of consecutive failed attempts after which the subscription gives up, 0 to retry forever.
+     */
+    private final int maxAttempts;
+
+    /**
+     * Initializes a new instance of ReconnectPolicy.
+     *
+     * @param initialDelayMillis Delay before the first re-subscribe attempt (Milliseconds).
+     * @param maxDelayMillis     Upper bound of the delay between attempts (Milliseconds).
+     * @param multiplier         Factor applied to the delay after every failed attempt, at least 1.
+     * @param jitter             Fraction of the delay, between 0 and 1, that is randomly removed from it.
+     * @param maxAttempts        Number of consecutive failed attempts after which the subscription gives up, 0 to retry forever.
+     */
+    public ReconnectPolicy(long initialDelayMillis, long maxDelayMillis, double multiplier, double jitter, int maxAttempts) {
+        if (initialDelayMillis < 0 || maxDelayMillis < initialDelayMillis) {
+            throw new IllegalArgumentException("Delays must satisfy 0 <= initialDelayMillis <= maxDelayMillis");
+        }
+        if (multiplier < 1) {
+            throw new IllegalArgumentException("Parameter multiplier must be at least 1");
+        }
+        if (jitter < 0 || jitter > 1) {
+            throw new IllegalArgumentException("Parameter jitter must be between 0 and 1");
+        }
+        if (maxAttempts < 0) {
+            throw new IllegalArgumentException("Parameter maxAttempts must not be negative");
+        }
+        this.initialDelayMillis = initialDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+        this.multiplier = multiplier;
+        this.jitter = jitter;
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * @return Policy retrying forever, starting at 100 milliseconds and doubling up to 30 seconds, with 50% jitter.
+     */
+    public static ReconnectPolicy getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Get the delay before a re-subscribe attempt.
+     *
+     * @param attempt Number of consecutive failed attempts so far, starting at 0.
+     * @return Delay in milliseconds.
+     */
+    public long NextDelayMillis(int attempt) {
+        double delay = initialDelayMillis * Math.pow(multiplier, attempt);
+        delay = Math.min(delay, maxDelayMillis);
+        return (long) (delay * (1 - jitter * ThreadLocalRandom.current().nextDouble()));
+    }
+
+    /**
+     * @param attempt Number of consecutive failed attempts so far, starting at 0.
+     * @return true if another attempt is allowed.
+     */
+    public boolean CanRetry(int attempt) {
+        return maxAttempts == 0 || attempt < maxAttempts;
+    }
+
+    public long getInitialDelayMillis() {
+        return initialDelayMillis;
+    }
+
+    public long getMaxDelayMillis() {
+        return maxDelayMillis;
+    }
+
+    public double getMultiplier() {
+        return multiplier;
+    }
+
+    public double getJitter() {
+        return jitter;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+}
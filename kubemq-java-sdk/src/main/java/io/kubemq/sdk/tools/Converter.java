@@ -24,8 +24,10 @@
 package io.kubemq.sdk.tools;
 
 import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
 
 import java.io.*;
+import java.nio.ByteBuffer;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.*;
@@ -46,6 +48,74 @@ public class Converter {
         return ByteString.copyFrom(byteArray);
     }
 
+    /**
+     * Byte Array to ByteString, without copying.
+     * The ByteString shares the array, which must not be modified afterwards.
+     *
+     * @param byteArray byteArray to wrap into ByteString
+     * @return com.google.protobuf.ByteString
+     */
+    public static ByteString WrapUnsafe(byte[] byteArray) {
+        return UnsafeByteOperations.unsafeWrap(byteArray);
+    }
+
+    /**
+     * ByteBuffer to ByteString, without copying.
+     * The ByteString shares the remaining bytes of the buffer, which must not be modified afterwards.
+     *
+     * @param buffer buffer to wrap into ByteString
+     * @return com.google.protobuf.ByteString
+     */
+    public static ByteString WrapUnsafe(ByteBuffer buffer) {
+        return UnsafeByteOperations.unsafeWrap(buffer);
+    }
+
+    /**
+     * Get a body held either as a byte array or as a ByteString, as a byte array.
+     * A body held as a ByteString, set as a ByteString or ByteBuffer or received from KubeMQ,
+     * is copied into a new array, which the caller keeps so the copy is made on first call only.
+     *
+     * @param body      The body as a byte array, null if not converted yet.
+     * @param bodyBytes The body as a ByteString, null if held as a byte array.
+     * @return The body, null when no body was set.
+     */
+    public static byte[] BodyAsByteArray(byte[] body, ByteString bodyBytes) {
+        if (body == null && bodyBytes != null) {
+            return bodyBytes.toByteArray();
+        }
+        return body;
+    }
+
+    /**
+     * Get a body held either as a byte array or as a ByteString, as a ByteString.
+     * The ByteString is returned as is, the byte array is copied.
+     *
+     * @param body      The body as a byte array.
+     * @param bodyBytes The body as a ByteString, null if held as a byte array.
+     * @return The body, empty when no body was set.
+     */
+    public static ByteString BodyAsByteString(byte[] body, ByteString bodyBytes) {
+        if (bodyBytes != null) {
+            return bodyBytes;
+        }
+        return body == null ? ByteString.EMPTY : ToByteString(body);
+    }
+
+    /**
+     * Get a body held either as a byte array or as a ByteString, as a read only ByteBuffer.
+     * The buffer shares the ByteString or the byte array without copying them.
+     *
+     * @param body      The body as a byte array.
+     * @param bodyBytes The body as a ByteString, null if held as a byte array.
+     * @return The body, empty when no body was set.
+     */
+    public static ByteBuffer BodyAsByteBuffer(byte[] body, ByteString bodyBytes) {
+        if (bodyBytes != null) {
+            return bodyBytes.asReadOnlyByteBuffer();
+        }
+        return body == null ? ByteString.EMPTY.asReadOnlyByteBuffer() : ByteBuffer.wrap(body).asReadOnlyBuffer();
+    }
+
     /**
      * Convert from byte array to object
      *
@@ -0,0 +1,304 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 KubeMQ
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package io.kubemq.sdk.tools;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Bounded, time windowed set of the IDs already processed, used to drop redelivered events and messages.
+ * <p>
+ * The IDs are kept in 4 generations, each holding at most a quarter of {@code maxEntries} IDs and covering
+ * a quarter of the window. New IDs go to the newest generation; when it is full or older than its share of the window
+ * the oldest generation is dropped and reused. An ID seen again is copied to the newest generation, so IDs
+ * still being redelivered outlive the others. An ID is remembered for at least three quarters of the window,
+ * unless pushed out earlier by the size bound, and never more than {@code maxEntries} IDs are kept.
+ * <p>
+ * With the Bloom filter enabled each generation also keeps an 8 bits per entry filter, checked before its set,
+ * so IDs never seen are mostly rejected without a set lookup in every generation. The filters use a 64 bit hash
+ * of the ID computed once per call, independent of the {@code String.hashCode} the sets rely on.
+ * <p>
+ * Methods are thread safe.
+ */
+public class DedupCache {
+
+    private static final int GENERATIONS = 4;
+    private static final int BLOOM_HASHES = 3;
+
+    private final int maxEntries;
+    private final long windowMillis;
+    private final int generationCapacity;
+    private final long generationMillis;
+    private final boolean bloomFilter;
+    private final Generation[] generations = new Generation[GENERATIONS];
+    private int newest;
+
+    private long hits;
+    private long misses;
+
+    /**
+     * @param maxEntries   Maximum number of IDs kept.
+     * @param windowMillis Time an ID is remembered (Milliseconds), 0 to only bound the number of IDs.
+     */
+    public DedupCache(int maxEntries, long windowMillis) {
+        this(maxEntries, windowMillis, false);
+    }
+
+    /**
+     * @param maxEntries   Maximum number of IDs kept.
+     * @param windowMillis Time an ID is remembered (Milliseconds), 0 to only bound the number of IDs.
+     * @param bloomFilter  Check a Bloom filter before looking up the IDs of each generation.
+     */
+    public DedupCache(int maxEntries, long windowMillis, boolean bloomFilter) {
+        if (maxEntries < GENERATIONS) {
+            throw new IllegalArgumentException("Parameter maxEntries must be at least " + GENERATIONS);
+        }
+        if (windowMillis < 0) {
+            throw new IllegalArgumentException("Parameter windowMillis can not be negative");
+        }
+        this.maxEntries = maxEntries;
+        this.windowMillis = windowMillis;
+        this.generationCapacity = maxEntries / GENERATIONS;
+        this.generationMillis = windowMillis / GENERATIONS;
+        this.bloomFilter = bloomFilter;
+
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < GENERATIONS; i++) {
+            generations[i] = new Generation(generationCapacity, bloomFilter, now);
+        }
+    }
+
+    /**
+     * Check whether the ID was already seen, recording it otherwise.
+     *
+     * @param id The event or message ID.
+     * @return true if the ID was seen before, in which case the event or message is a duplicate.
+     */
+    public synchronized boolean IsDuplicate(String id) {
+        long now = System.currentTimeMillis();
+        long bloomHash = bloomHash(id);
+        if (find(id, bloomHash, now)) {
+            hits++;
+            return true;
+        }
+        misses++;
+        record(id, bloomHash, now);
+        return false;
+    }
+
+    /**
+     * Check whether the ID was already seen, without recording it.
+     *
+     * @param id The event or message ID.
+     * @return true if the ID was seen before.
+     */
+    public synchronized boolean Contains(String id) {
+        long now = System.currentTimeMillis();
+        if (find(id, bloomHash(id), now)) {
+            hits++;
+            return true;
+        }
+        misses++;
+        return false;
+    }
+
+    /**
+     * Record the ID as seen, for example once its message was acknowledged.
+     *
+     * @param id The event or message ID.
+     */
+    public synchronized void Add(String id) {
+        long now = System.currentTimeMillis();
+        long bloomHash = bloomHash(id);
+        if (!find(id, bloomHash, now)) {
+            record(id, bloomHash, now);
+        }
+    }
+
+    /**
+     * Forget all the IDs and reset the metrics.
+     */
+    public synchronized void Clear() {
+        long now = System.currentTimeMillis();
+        for (Generation generation : generations) {
+            generation.reset(now);
+        }
+        hits = 0;
+        misses = 0;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public long getWindowMillis() {
+        return windowMillis;
+    }
+
+    /**
+     * @return Number of IDs currently kept.
+     */
+    public synchronized int getSize() {
+        long now = System.currentTimeMillis();
+        int size = 0;
+        for (Generation generation : generations) {
+            if (!isExpired(generation, now)) {
+                size += generation.ids.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * @return Number of lookups that found the ID, that is duplicates.
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return Number of lookups that did not find the ID.
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return Share of the lookups that found the ID, 0 when there was no lookup.
+     */
+    public synchronized double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    private boolean find(String id, long bloomHash, long now) {
+        for (int i = 0; i < GENERATIONS; i++) {
+            Generation generation = generations[Math.floorMod(newest - i, GENERATIONS)];
+            if (isExpired(generation, now) || !generation.contains(id, bloomHash)) {
+                continue;
+            }
+            if (i > 0) {
+                // Still redelivered, keep it in the newest generation
+                record(id, bloomHash, now);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Add the ID to the newest generation, rotating first when it is full or old so no generation exceeds its bound.
+     */
+    private void record(String id, long bloomHash, long now) {
+        rotate(now);
+        generations[newest].add(id, bloomHash);
+    }
+
+    private long bloomHash(String id) {
+        if (!bloomFilter) {
+            return 0;
+        }
+        // FNV-1a over the characters, then the MurmurHash3 finalizer to spread the bits
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < id.length(); i++) {
+            hash = (hash ^ id.charAt(i)) * 0x100000001b3L;
+        }
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    private void rotate(long now) {
+        Generation current = generations[newest];
+        boolean full = current.ids.size() >= generationCapacity;
+        boolean old = generationMillis > 0 && now - current.createdAt >= generationMillis;
+        if (full || old) {
+            newest = (newest + 1) % GENERATIONS;
+            generations[newest].reset(now);
+        }
+    }
+
+    private boolean isExpired(Generation generation, long now) {
+        return windowMillis > 0 && now - generation.createdAt >= windowMillis;
+    }
+
+    private static final class Generation {
+
+        private final Set<String> ids;
+        private final long[] bloom;
+        private final int bloomMask;
+        private long createdAt;
+
+        private Generation(int capacity, boolean bloomFilter, long createdAt) {
+            this.ids = new HashSet<>(capacity * 4 / 3 + 1);
+            if (bloomFilter) {
+                int bits = Integer.highestOneBit(Math.max(64, capacity * 8 - 1)) << 1;
+                this.bloom = new long[bits >>> 6];
+                this.bloomMask = bits - 1;
+            } else {
+                this.bloom = null;
+                this.bloomMask = 0;
+            }
+            this.createdAt = createdAt;
+        }
+
+        private void add(String id, long bloomHash) {
+            if (ids.add(id) && bloom != null) {
+                for (int i = 0; i < BLOOM_HASHES; i++) {
+                    int bit = bloomBit(bloomHash, i);
+                    bloom[bit >>> 6] |= 1L << bit;
+                }
+            }
+        }
+
+        private boolean contains(String id, long bloomHash) {
+            if (bloom != null) {
+                for (int i = 0; i < BLOOM_HASHES; i++) {
+                    int bit = bloomBit(bloomHash, i);
+                    if ((bloom[bit >>> 6] & (1L << bit)) == 0) {
+                        return false;
+                    }
+                }
+            }
+            return ids.contains(id);
+        }
+
+        private void reset(long now) {
+            ids.clear();
+            if (bloom != null) {
+                Arrays.fill(bloom, 0);
+            }
+            createdAt = now;
+        }
+
+        /**
+         * Double hashing on the two halves of the hash, the step is odd so that the probes differ.
+         */
+        private int bloomBit(long bloomHash, int probe) {
+            int step = (int) (bloomHash >>> 32) | 1;
+            return ((int) bloomHash + probe * step) & bloomMask;
+        }
+    }
+}
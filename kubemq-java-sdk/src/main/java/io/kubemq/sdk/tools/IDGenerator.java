@@ -22,13 +22,76 @@
  * SOFTWARE.
  */
 package io.kubemq.sdk.tools;
-import java.util.concurrent.atomic.AtomicInteger;
 
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generates the IDs of events, requests and queue messages.
+ * The default generator produces ULID style IDs: 26 Crockford base32 characters encoding a 48 bit
+ * millisecond timestamp followed by 80 random bits. They are unique across threads and processes
+ * without any shared state, and sort by creation time.
+ * A different generator can be installed with {@link #SetGenerator(Generator)}.
+ */
 public class IDGenerator {
-        private static AtomicInteger _id = new AtomicInteger(0);
-        public static String Getid()
-        {
-            Integer id=  _id.updateAndGet(i -> i == Integer.MAX_VALUE ? 1 : i + 1);
-            return id.toString();
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    private static final Generator DEFAULT_GENERATOR = IDGenerator::NewUlid;
+
+    private static volatile Generator generator = DEFAULT_GENERATOR;
+
+    /**
+     * Source of unique IDs, called concurrently from any thread.
+     */
+    public interface Generator {
+        String nextId();
+    }
+
+    /**
+     * Get a new unique ID from the installed generator.
+     *
+     * @return unique ID
+     */
+    public static String Getid() {
+        return generator.nextId();
+    }
+
+    /**
+     * Install the generator used by every ID generated by the SDK.
+     *
+     * @param value The generator, null to restore the default ULID style generator.
+     */
+    public static void SetGenerator(Generator value) {
+        generator = value == null ? DEFAULT_GENERATOR : value;
+    }
+
+    /**
+     * Get a new ULID style ID, made of the current time in milliseconds and 80 random bits.
+     *
+     * @return 26 characters unique ID
+     */
+    public static String NewUlid() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long time = System.currentTimeMillis();
+        long low = random.nextLong();
+        int high = random.nextInt() & 0xFFFF;
+
+        char[] id = new char[26];
+        for (int i = 9; i >= 0; i--) {
+            id[i] = ALPHABET[(int) (time & 31)];
+            time >>>= 5;
+        }
+        for (int i = 25; i >= 14; i--) {
+            id[i] = ALPHABET[(int) (low & 31)];
+            low >>>= 5;
+        }
+        // 4 bits left of the low part, completed by the first bit of the high part
+        id[13] = ALPHABET[(int) low | ((high & 1) << 4)];
+        high >>>= 1;
+        for (int i = 12; i >= 10; i--) {
+            id[i] = ALPHABET[high & 31];
+            high >>>= 5;
+        }
+        return new String(id);
     }
 }